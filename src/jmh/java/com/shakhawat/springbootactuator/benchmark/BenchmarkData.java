@@ -0,0 +1,62 @@
+package com.shakhawat.springbootactuator.benchmark;
+
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realistic, deterministic payloads shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Rahim", "Karim", "Ayesha", "Fatima", "Michael", "Sara"};
+
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Ahmed", "Hossain", "Rahman", "Chowdhury", "Khan", "Brown"};
+
+    private BenchmarkData() {
+    }
+
+    public static Department department(long id) {
+        return new Department(id, "D" + id, "Department number " + id);
+    }
+
+    public static EmployeeDTO employeeDTO(long id, long departmentId) {
+        String firstName = FIRST_NAMES[(int) (id % FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[(int) ((id / FIRST_NAMES.length) % LAST_NAMES.length)];
+        return new EmployeeDTO(id, "EMP" + String.format("%07d", id), firstName, lastName, firstName + " " + lastName,
+                18 + (int) (id % 48), id % 2 == 0 ? "Male" : "Female",
+                (100 + id % 900) + " Lake Road, Block " + (char) ('A' + id % 26) + ", Dhaka 1212", departmentId);
+    }
+
+    public static Employee employee(long id, Department department) {
+        EmployeeDTO dto = employeeDTO(id, department.getId());
+        return new Employee(dto.getId(), dto.getCode(), dto.getFirstName(), dto.getLastName(), dto.getFullName(),
+                dto.getAge(), dto.getGender(), dto.getAddress(), department);
+    }
+
+    public static List<EmployeeDTO> employeeDTOs(int count, long firstId) {
+        List<EmployeeDTO> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employeeDTO(firstId + i, 1 + i % 20));
+        }
+        return employees;
+    }
+
+    /**
+     * Repository stand-in that answers {@code getReferenceById} without Mockito's per-call overhead.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T referenceRepository(Class<T> repositoryType, Object reference) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getReferenceById")) {
+                        return reference;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,103 @@
+package com.shakhawat.springbootactuator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhawat.springbootactuator.SpringBootActuatorApplication;
+import com.shakhawat.springbootactuator.department.DepartmentDTO;
+import com.shakhawat.springbootactuator.department.DepartmentService;
+import com.shakhawat.springbootactuator.employee.EmployeeBulkImportService;
+import com.shakhawat.springbootactuator.employee.EmployeeExportService;
+import com.shakhawat.springbootactuator.employee.EmployeeFilter;
+import com.shakhawat.springbootactuator.employee.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Full exports of a million-row H2 table, reported in rows per second: the CSV export, which writes
+ * JDBC rows straight to the stream, against the NDJSON stream of DTOs that clients converted themselves before.
+ * The database is file-based, so the table does not sit in the benchmark's heap. Run with {@code -prof gc} to
+ * compare allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class EmployeeExportBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private static final int DEPARTMENTS = 20;
+
+    private static final int IMPORT_CHUNK = 50_000;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeExportService employeeExportService;
+
+    private EmployeeService employeeService;
+
+    private ObjectMapper objectMapper;
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringBootActuatorApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:./target/export-benchmark",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--audit.enabled=false",
+                        "--logging.level.root=WARN");
+        employeeExportService = context.getBean(EmployeeExportService.class);
+        employeeService = context.getBean(EmployeeService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        DepartmentService departmentService = context.getBean(DepartmentService.class);
+        for (int i = 1; i <= DEPARTMENTS; i++) {
+            departmentService.createDepartment(new DepartmentDTO(null, "D" + i, "Department number " + i));
+        }
+        EmployeeBulkImportService employeeBulkImportService = context.getBean(EmployeeBulkImportService.class);
+        for (long first = 1; first <= ROWS; first += IMPORT_CHUNK) {
+            employeeBulkImportService.importEmployees(LongStream.range(first, first + IMPORT_CHUNK)
+                    .mapToObj(id -> BenchmarkData.employeeDTO(id, 1 + id % DEPARTMENTS))
+                    .iterator());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long exportCsv() throws IOException {
+        return employeeExportService.exportCsv(EmployeeFilter.NONE, sink);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void streamNdjson() {
+        employeeService.streamAllEmployees(employee -> {
+            try {
+                sink.write(objectMapper.writeValueAsBytes(employee));
+                sink.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.shakhawat.springbootactuator.benchmark;
+
+import com.shakhawat.springbootactuator.SpringBootActuatorApplication;
+import com.shakhawat.springbootactuator.department.DepartmentDTO;
+import com.shakhawat.springbootactuator.department.DepartmentService;
+import com.shakhawat.springbootactuator.employee.BulkImportResult;
+import com.shakhawat.springbootactuator.employee.EmployeeBulkImportService;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import com.shakhawat.springbootactuator.employee.EmployeePage;
+import com.shakhawat.springbootactuator.employee.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service benchmarks: Spring context, JPA and an embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceH2Benchmark {
+
+    private static final int SEED_EMPLOYEES = 10_000;
+
+    private static final int DEPARTMENTS = 20;
+
+    private static final int WRITE_BATCH = 500;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private DepartmentService departmentService;
+
+    private EmployeeBulkImportService employeeBulkImportService;
+
+    private long nextId = SEED_EMPLOYEES + 1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringBootActuatorApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+        departmentService = context.getBean(DepartmentService.class);
+        employeeBulkImportService = context.getBean(EmployeeBulkImportService.class);
+
+        for (int i = 1; i <= DEPARTMENTS; i++) {
+            departmentService.createDepartment(new DepartmentDTO(null, "D" + i, "Department number " + i));
+        }
+        employeeBulkImportService.importEmployees(BenchmarkData.employeeDTOs(SEED_EMPLOYEES, 1L).iterator());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeeDTO getEmployeeById() {
+        long id = ThreadLocalRandom.current().nextLong(1, SEED_EMPLOYEES + 1);
+        return employeeService.getEmployeeById(id).orElseThrow();
+    }
+
+    @Benchmark
+    public EmployeePage getEmployeePage() {
+        return employeeService.getEmployeePage(null, 100);
+    }
+
+    @Benchmark
+    public List<DepartmentDTO> getAllDepartments() {
+        return departmentService.getAllDepartments().departments();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WRITE_BATCH)
+    public void createEmployeesOneByOne() {
+        for (EmployeeDTO employee : nextBatch()) {
+            employee.setId(null);
+            employeeService.createEmployee(employee);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WRITE_BATCH)
+    public BulkImportResult createEmployeesInBulk() {
+        return employeeBulkImportService.importEmployees(nextBatch().iterator());
+    }
+
+    private List<EmployeeDTO> nextBatch() {
+        List<EmployeeDTO> batch = BenchmarkData.employeeDTOs(WRITE_BATCH, nextId);
+        nextId += WRITE_BATCH;
+        return batch;
+    }
+}
@@ -0,0 +1,43 @@
+package com.shakhawat.springbootactuator.benchmark;
+
+import com.shakhawat.springbootactuator.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+
+    private DataIntegrityViolationException duplicateEntry;
+
+    private DataIntegrityViolationException otherViolation;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        duplicateEntry = new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Duplicate entry 'EMP0000042' for key 'employees.employees_code_unique'"));
+        otherViolation = new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Column 'department_id' cannot be null"));
+    }
+
+    @Benchmark
+    public ResponseEntity<String> duplicateEntry() {
+        return handler.handleDataIntegrityViolationException(duplicateEntry);
+    }
+
+    @Benchmark
+    public ResponseEntity<String> otherViolation() {
+        return handler.handleDataIntegrityViolationException(otherViolation);
+    }
+}
@@ -0,0 +1,109 @@
+package com.shakhawat.springbootactuator.benchmark;
+
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import com.shakhawat.springbootactuator.exception.GlobalExceptionHandler;
+import com.shakhawat.springbootactuator.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.Serial;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Miss-heavy lookups, as produced by a client scanning ids. Compares the former path (an exception with a stack
+ * trace, turned into a response by the catch-all handler) with a stackless exception and with an empty
+ * {@code Optional} mapped to a shared response. {@code depth} adds the frames that sit between the servlet and
+ * the service in a real request, which is what makes stack-trace capture expensive.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    private static final ResponseEntity<String> NOT_FOUND = ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body("Employee not found");
+
+    @Param({"20", "150"})
+    private int depth;
+
+    private GlobalExceptionHandler handler;
+
+    private Map<Long, EmployeeDTO> employees;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        employees = new HashMap<>();
+        for (long id = 1; id <= 1000; id++) {
+            employees.put(id, BenchmarkData.employeeDTO(id, 1L));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> exceptionWithStackTrace() {
+        long id = missingId();
+        try {
+            return descend(depth, () -> {
+                EmployeeDTO employee = Optional.ofNullable(employees.get(id))
+                        .orElseThrow(() -> new StackTraceNotFoundException("Employee not found with id: " + id));
+                return ResponseEntity.ok(employee);
+            });
+        } catch (RuntimeException ex) {
+            return handler.handleRuntimeException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> stacklessException() {
+        long id = missingId();
+        try {
+            return descend(depth, () -> {
+                EmployeeDTO employee = Optional.ofNullable(employees.get(id))
+                        .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+                return ResponseEntity.ok(employee);
+            });
+        } catch (ResourceNotFoundException ex) {
+            return handler.handleResourceNotFoundException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> emptyOptional() {
+        long id = missingId();
+        return descend(depth, () -> Optional.ofNullable(employees.get(id))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(NOT_FOUND));
+    }
+
+    private static long missingId() {
+        return ThreadLocalRandom.current().nextLong(1_000_000, 2_000_000);
+    }
+
+    private static ResponseEntity<?> descend(int frames, Supplier<ResponseEntity<?>> lookup) {
+        return frames == 0 ? lookup.get() : descend(frames - 1, lookup);
+    }
+
+    /**
+     * {@link ResourceNotFoundException} as it was before it stopped capturing stack traces.
+     */
+    private static final class StackTraceNotFoundException extends RuntimeException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private StackTraceNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
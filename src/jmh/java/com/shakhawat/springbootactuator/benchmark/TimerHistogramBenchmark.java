@@ -0,0 +1,66 @@
+package com.shakhawat.springbootactuator.benchmark;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the latency histograms configured in application.properties. Run with {@code -prof gc}:
+ * gc.alloc.rate.norm of the register benchmarks is the memory one timer's histogram allocates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerHistogramBenchmark {
+
+    private Timer plainTimer;
+
+    private Timer histogramTimer;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        plainTimer = Timer.builder("plain").register(registry);
+        histogramTimer = histogramTimer(registry);
+    }
+
+    @Benchmark
+    public void recordPlain() {
+        plainTimer.record(ThreadLocalRandom.current().nextLong(1_000_000, 500_000_000), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void recordHistogram() {
+        histogramTimer.record(ThreadLocalRandom.current().nextLong(1_000_000, 500_000_000), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public Timer registerPlain() {
+        return Timer.builder("plain").register(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Timer registerHistogram() {
+        return histogramTimer(new SimpleMeterRegistry());
+    }
+
+    private static Timer histogramTimer(SimpleMeterRegistry registry) {
+        return Timer.builder("histogram")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .serviceLevelObjectives(Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+                        Duration.ofMillis(500), Duration.ofSeconds(1))
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .distributionStatisticExpiry(Duration.ofMinutes(2))
+                .distributionStatisticBufferLength(4)
+                .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.shakhawat.springbootactuator.department;
+
+import com.shakhawat.springbootactuator.benchmark.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DepartmentMappingBenchmark {
+
+    private DepartmentService departmentService;
+
+    private Department department;
+
+    @Setup
+    public void setUp() {
+        departmentService = new DepartmentService(null, null);
+        department = BenchmarkData.department(7L);
+    }
+
+    @Benchmark
+    public DepartmentDTO convertToDTO() {
+        return departmentService.convertToDTO(department);
+    }
+}
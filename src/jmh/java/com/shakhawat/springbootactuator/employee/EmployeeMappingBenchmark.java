@@ -0,0 +1,42 @@
+package com.shakhawat.springbootactuator.employee;
+
+import com.shakhawat.springbootactuator.benchmark.BenchmarkData;
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMappingBenchmark {
+
+    private EmployeeService employeeService;
+
+    private Employee employee;
+
+    private EmployeeDTO employeeDTO;
+
+    @Setup
+    public void setUp() {
+        Department department = BenchmarkData.department(1L);
+        DepartmentRepository departmentRepository = BenchmarkData.referenceRepository(DepartmentRepository.class, department);
+        employeeService = new EmployeeService(null, departmentRepository, null);
+        employee = BenchmarkData.employee(42L, department);
+        employeeDTO = BenchmarkData.employeeDTO(42L, 1L);
+    }
+
+    @Benchmark
+    public EmployeeDTO convertToDTO() {
+        return employeeService.convertToDTO(employee);
+    }
+
+    @Benchmark
+    public Employee convertToEntity() {
+        return employeeService.convertToEntity(employeeDTO);
+    }
+}
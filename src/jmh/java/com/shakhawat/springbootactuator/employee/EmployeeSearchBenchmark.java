@@ -0,0 +1,47 @@
+package com.shakhawat.springbootactuator.employee;
+
+import com.shakhawat.springbootactuator.benchmark.BenchmarkData;
+import lombok.extern.log4j.Log4j2;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches an index of one million employees. {@link BenchmarkData} draws names from eight first and eight last
+ * names, so every name word matches an eighth of the index; that is the worst case for the candidate scan.
+ */
+@Log4j2
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeSearchBenchmark {
+
+    @Param({"EMP0123456", "emp01234", "smith", "jhon smiht", "rahman block q dhaka"})
+    private String query;
+
+    @Param({"1000000"})
+    private int size;
+
+    private EmployeeSearchSegment segment;
+
+    @Setup
+    public void setUp() {
+        long started = System.nanoTime();
+        segment = new EmployeeSearchSegment();
+        for (EmployeeDTO employee : BenchmarkData.employeeDTOs(size, 1L)) {
+            segment.put(employee, 0);
+        }
+        log.info("Indexed {} employees in {} ms: {} terms, {} postings, ~{} MB excluding DTOs",
+                segment.documentCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                segment.termCount(), segment.postingCount(), segment.estimatedBytes() >> 20);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> search() {
+        return segment.search(query, 20);
+    }
+}
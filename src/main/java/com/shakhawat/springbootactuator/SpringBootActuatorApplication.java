@@ -1,13 +1,36 @@
 package com.shakhawat.springbootactuator;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 
-@SpringBootApplication
+/**
+ * The servlet application. The reactive read application (built with the {@code reactive} Maven profile) lives in a
+ * sub-package with its own configuration, so it is excluded from this component scan.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.shakhawat\\.springbootactuator\\.reactive\\..*")
+})
 public class SpringBootActuatorApplication {
 
+    /**
+     * Startup steps buffered for the actuator {@code startup} endpoint; enough for every bean of the context.
+     */
+    static final int STARTUP_STEPS_CAPACITY = 8192;
+
     public static void main(String[] args) {
-        SpringApplication.run(SpringBootActuatorApplication.class, args);
+        SpringApplication application = new SpringApplication(SpringBootActuatorApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+        application.run(args);
     }
 
 }
@@ -0,0 +1,23 @@
+package com.shakhawat.springbootactuator.audit;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+
+/**
+ * A committed create, update or delete, identified by entity id and business key.
+ */
+public record AuditEvent(Instant occurredAt, String actor, Action action, String entityType, Long entityId,
+                         String businessKey) {
+
+    public enum Action {
+        CREATE, UPDATE, DELETE
+    }
+
+    public static AuditEvent of(Action action, String entityType, Long entityId, String businessKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String actor = authentication != null ? authentication.getName() : "system";
+        return new AuditEvent(Instant.now(), actor, action, entityType, entityId, businessKey);
+    }
+}
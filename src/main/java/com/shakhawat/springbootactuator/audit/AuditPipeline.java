@@ -0,0 +1,172 @@
+package com.shakhawat.springbootactuator.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves the audit trail off the request path. Services publish {@link AuditEvent}s as application events, which
+ * reach this pipeline only after their transaction commits. They are offered to a {@link RingBuffer}, and a
+ * single writer thread drains it in batches into the {@link AuditSink}. When the buffer is full the
+ * {@link OverflowPolicy} decides whether the publishing thread waits or the event is dropped or sampled.
+ */
+@Log4j2
+public class AuditPipeline implements SmartLifecycle {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final RingBuffer<AuditEvent> buffer;
+
+    private final AuditSink sink;
+
+    private final OverflowPolicy policy;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final int sampleEvery;
+
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    private final Counter droppedFull;
+
+    private final Counter droppedSampled;
+
+    private final Counter written;
+
+    private final Counter failed;
+
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+
+    private volatile Thread writer;
+
+    public AuditPipeline(AuditSink sink, MeterRegistry meterRegistry, int bufferSize, int batchSize,
+                         Duration flushInterval, OverflowPolicy policy, int sampleEvery) {
+        this.buffer = new RingBuffer<>(bufferSize);
+        this.sink = sink;
+        this.policy = policy;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.sampleEvery = Math.max(1, sampleEvery);
+        Gauge.builder("audit.queue.depth", buffer, RingBuffer::size)
+                .description("Audit events waiting for the writer")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.capacity", buffer, RingBuffer::capacity).register(meterRegistry);
+        this.droppedFull = Counter.builder("audit.events.dropped").tag("reason", "full").register(meterRegistry);
+        this.droppedSampled = Counter.builder("audit.events.dropped").tag("reason", "sampled").register(meterRegistry);
+        this.written = Counter.builder("audit.events.written").register(meterRegistry);
+        this.failed = Counter.builder("audit.events.failed").register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.flush")
+                .description("Time to write one batch of audit events")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuditEvent(AuditEvent event) {
+        submit(event);
+    }
+
+    public boolean submit(AuditEvent event) {
+        switch (policy) {
+            case BLOCK -> {
+                while (!buffer.offer(event)) {
+                    if (!running) {
+                        droppedFull.increment();
+                        return false;
+                    }
+                    LockSupport.unpark(writer);
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+                return true;
+            }
+            case SAMPLE -> {
+                if (buffer.size() >= buffer.capacity() / 2 && sampleSequence.getAndIncrement() % sampleEvery != 0) {
+                    droppedSampled.increment();
+                    return false;
+                }
+                return offerOrDrop(event);
+            }
+            default -> {
+                return offerOrDrop(event);
+            }
+        }
+    }
+
+    private boolean offerOrDrop(AuditEvent event) {
+        if (buffer.offer(event)) {
+            return true;
+        }
+        droppedFull.increment();
+        return false;
+    }
+
+    private void drain() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            } else {
+                flush(batch);
+            }
+        }
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            sink.write(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException ex) {
+            failed.increment(batch.size());
+            log.error("Failed to write {} audit event(s)", batch.size(), ex);
+        } finally {
+            sample.stop(flushTimer);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
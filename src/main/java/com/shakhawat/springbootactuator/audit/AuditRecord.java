@@ -0,0 +1,39 @@
+package com.shakhawat.springbootactuator.audit;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Table definition for the audit trail. Rows are only ever appended, in batches, by {@link JdbcAuditSink}.
+ */
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "audit_events",
+        indexes = { @Index(name = "audit_events_entity_idx", columnList = "entity_type, entity_id") })
+public class AuditRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    private String actor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AuditEvent.Action action;
+
+    @Column(nullable = false)
+    private String entityType;
+
+    private Long entityId;
+
+    private String businessKey;
+
+}
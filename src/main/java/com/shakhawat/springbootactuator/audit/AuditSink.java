@@ -0,0 +1,11 @@
+package com.shakhawat.springbootactuator.audit;
+
+import java.util.List;
+
+/**
+ * Durable destination for audit events. Called from the single writer thread with one batch at a time.
+ */
+public interface AuditSink {
+
+    void write(List<AuditEvent> events);
+}
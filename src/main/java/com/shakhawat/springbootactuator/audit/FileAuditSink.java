@@ -0,0 +1,50 @@
+package com.shakhawat.springbootactuator.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each event as one line of JSON to a local file, flushing once per batch.
+ */
+public class FileAuditSink implements AuditSink, Closeable {
+
+    private final ObjectWriter writer;
+
+    private final BufferedWriter out;
+
+    public FileAuditSink(Path file, ObjectMapper objectMapper) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.writer = objectMapper.writerFor(AuditEvent.class);
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        try {
+            for (AuditEvent event : events) {
+                out.write(writer.writeValueAsString(event));
+                out.newLine();
+            }
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
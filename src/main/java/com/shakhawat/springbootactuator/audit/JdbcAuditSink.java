@@ -0,0 +1,33 @@
+package com.shakhawat.springbootactuator.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT_SQL = "insert into audit_events "
+            + "(occurred_at, actor, action, entity_type, entity_id, business_key) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setTimestamp(1, Timestamp.from(event.occurredAt()));
+            ps.setString(2, event.actor());
+            ps.setString(3, event.action().name());
+            ps.setString(4, event.entityType());
+            if (event.entityId() != null) {
+                ps.setLong(5, event.entityId());
+            } else {
+                ps.setNull(5, Types.BIGINT);
+            }
+            ps.setString(6, event.businessKey());
+        });
+    }
+}
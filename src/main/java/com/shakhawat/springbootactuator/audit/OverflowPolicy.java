@@ -0,0 +1,22 @@
+package com.shakhawat.springbootactuator.audit;
+
+/**
+ * What {@link AuditPipeline} does with an event when the writer cannot keep up.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Wait for the writer to free a slot. Nothing is lost, but a full buffer slows down the request.
+     */
+    BLOCK,
+
+    /**
+     * Discard the event when the buffer is full.
+     */
+    DROP,
+
+    /**
+     * Once the buffer is half full keep only one in every {@code sample-every} events, and discard when full.
+     */
+    SAMPLE
+}
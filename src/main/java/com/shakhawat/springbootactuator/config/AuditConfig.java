@@ -0,0 +1,50 @@
+package com.shakhawat.springbootactuator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhawat.springbootactuator.audit.AuditPipeline;
+import com.shakhawat.springbootactuator.audit.AuditSink;
+import com.shakhawat.springbootactuator.audit.FileAuditSink;
+import com.shakhawat.springbootactuator.audit.JdbcAuditSink;
+import com.shakhawat.springbootactuator.audit.OverflowPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Audit trail for entity mutations. {@code audit.sink=jdbc} (the default) appends to the {@code audit_events}
+ * table and {@code audit.sink=file} appends JSON lines to {@code audit.file}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "audit.enabled", matchIfMissing = true)
+public class AuditConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "audit.sink", havingValue = "jdbc", matchIfMissing = true)
+    public JdbcAuditSink jdbcAuditSink(JdbcTemplate jdbcTemplate) {
+        return new JdbcAuditSink(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "audit.sink", havingValue = "file")
+    public FileAuditSink fileAuditSink(ObjectMapper objectMapper,
+                                       @Value("${audit.file:audit/audit-events.ndjson}") Path file) throws IOException {
+        return new FileAuditSink(file, objectMapper);
+    }
+
+    @Bean
+    public AuditPipeline auditPipeline(AuditSink auditSink, MeterRegistry meterRegistry,
+                                       @Value("${audit.buffer-size:8192}") int bufferSize,
+                                       @Value("${audit.batch-size:256}") int batchSize,
+                                       @Value("${audit.flush-interval:200ms}") Duration flushInterval,
+                                       @Value("${audit.overflow-policy:block}") OverflowPolicy overflowPolicy,
+                                       @Value("${audit.sample-every:10}") int sampleEvery) {
+        return new AuditPipeline(auditSink, meterRegistry, bufferSize, batchSize, flushInterval, overflowPolicy, sampleEvery);
+    }
+}
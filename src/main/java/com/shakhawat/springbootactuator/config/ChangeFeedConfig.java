@@ -0,0 +1,26 @@
+package com.shakhawat.springbootactuator.config;
+
+import com.shakhawat.springbootactuator.web.ChangeFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings shared by the employee and department change feeds.
+ */
+@Configuration
+public class ChangeFeedConfig {
+
+    @Bean
+    public ChangeFeed.Settings changeFeedSettings(@Value("${change-feed.replay-capacity:1000}") int replayCapacity,
+                                                  @Value("${change-feed.subscriber-buffer:1000}") int subscriberBuffer,
+                                                  @Value("${change-feed.timeout:30m}") Duration timeout,
+                                                  @Value("${change-feed.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                                  @Value("${change-feed.sender-threads:8}") int senderThreads,
+                                                  @Value("${change-feed.max-subscribers-per-principal:5}") int maxSubscribersPerPrincipal) {
+        return new ChangeFeed.Settings(replayCapacity, subscriberBuffer, timeout, heartbeatInterval, senderThreads,
+                maxSubscribersPerPrincipal);
+    }
+}
@@ -0,0 +1,29 @@
+package com.shakhawat.springbootactuator.config;
+
+import com.shakhawat.springbootactuator.monitoring.CachedHealthChecks;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Serves health indicators from background checks, so health and readiness requests never reach the database.
+ */
+@Configuration
+@ConditionalOnProperty(name = "health.checks.cached", havingValue = "true", matchIfMissing = true)
+public class HealthCheckConfig {
+
+    @Bean
+    public static CachedHealthChecks cachedHealthChecks(Environment environment,
+                                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        return new CachedHealthChecks(
+                environment.getProperty("health.checks.interval", Duration.class, Duration.ofSeconds(10)),
+                environment.getProperty("health.checks.timeout", Duration.class, Duration.ofSeconds(2)),
+                environment.getProperty("health.checks.max-staleness", Duration.class, Duration.ofSeconds(30)),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,104 @@
+package com.shakhawat.springbootactuator.config;
+
+import com.shakhawat.springbootactuator.datasource.Replica;
+import com.shakhawat.springbootactuator.datasource.ReplicaRouter;
+import com.shakhawat.springbootactuator.datasource.ReplicaRoutingDataSource;
+import com.shakhawat.springbootactuator.datasource.ReplicaSelection;
+import com.shakhawat.springbootactuator.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, enabled by listing their JDBC URLs in {@code datasource.replicas.urls}. The application then has a
+ * single {@link DataSource} that sends read-only transactions to a replica and everything else to the primary (see
+ * {@link ReplicaRouter}). The primary pool is configured by {@code spring.datasource.*} as before, and each replica
+ * pool takes the same {@code spring.datasource.hikari.*} settings.
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replicas.urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties dataSourceProperties, Environment environment,
+                                 TaskScheduler taskScheduler, MeterRegistry meterRegistry,
+                                 @Value("${datasource.replicas.urls}") String[] urls,
+                                 @Value("${datasource.replicas.username:${spring.datasource.username:}}") String username,
+                                 @Value("${datasource.replicas.password:${spring.datasource.password:}}") String password,
+                                 @Value("${datasource.replicas.max-lag:2s}") Duration maxLag,
+                                 @Value("${datasource.replicas.check-interval:1s}") Duration checkInterval) {
+        MetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        List<Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (!url.isBlank()) {
+                String name = "replica-" + (replicas.size() + 1);
+                HikariDataSource dataSource = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(url.trim())
+                        .username(username)
+                        .password(password)
+                        .build();
+                replicas.add(new Replica(name, pool(dataSource, name, environment, metricsTrackerFactory)));
+            }
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("datasource.replicas.urls must list at least one JDBC URL");
+        }
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        return new ReplicaSet(pool(primary, ReplicaRoutingDataSource.PRIMARY, environment, metricsTrackerFactory),
+                replicas, taskScheduler, meterRegistry, maxLag, checkInterval);
+    }
+
+    private static HikariDataSource pool(HikariDataSource dataSource, String name, Environment environment,
+                                         MetricsTrackerFactory metricsTrackerFactory) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        dataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+        return dataSource;
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaSet replicaSet) {
+        // Hibernate takes a connection as the transaction begins; the lazy proxy defers the physical one to the first
+        // statement, by which time ReplicaRouter has routed the transaction
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicaSet));
+    }
+
+    @Bean
+    public ReplicaRouter replicaRouter(ReplicaSet replicaSet, ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${datasource.replicas.selection:round-robin}") ReplicaSelection selection,
+                                       @Value("${datasource.replicas.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        return new ReplicaRouter(replicaSet, selection, readYourWritesWindow, entityManagerFactory, meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        // By default a session keeps its connection until it closes, which with open-in-view is the end of the
+        // request, so a write following a replica read in the same request would run on the replica
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
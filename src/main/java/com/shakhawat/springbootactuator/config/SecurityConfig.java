@@ -1,50 +1,105 @@
 package com.shakhawat.springbootactuator.config;
 
+import com.shakhawat.springbootactuator.security.CachingAuthenticationProvider;
+import com.shakhawat.springbootactuator.security.HmacTokenAuthenticationFilter;
+import com.shakhawat.springbootactuator.security.HmacTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+@Log4j2
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, MeterRegistry meterRegistry,
+                                                   ObjectProvider<HmacTokenService> tokenService) throws Exception {
         http
                 .authorizeHttpRequests((requests) -> requests
+                        .requestMatchers("/mgt-details/health/liveness", "/mgt-details/health/readiness").permitAll() // Probes see only the status
                         .requestMatchers("/mgt-details/**").hasRole("ADMIN") // Restrict access to actuator endpoints
                         .anyRequest().authenticated()
                 )
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF for non-browser clients
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .httpBasic(withDefaults()); // Enable HTTP Basic authentication
 
+        tokenService.ifAvailable(service -> http.addFilterBefore(
+                new HmacTokenAuthenticationFilter(service, meterRegistry), BasicAuthenticationFilter.class));
+
         return http.build();
     }
 
+    @Bean
+    public CachingAuthenticationProvider cachingAuthenticationProvider(UserDetailsService userDetailsService,
+                                                                       MeterRegistry meterRegistry,
+                                                                       @Value("${security.credential-cache.maximum-size:10000}") long maximumSize,
+                                                                       @Value("${security.credential-cache.time-to-live:5m}") Duration timeToLive) {
+        DaoAuthenticationProvider delegate = new DaoAuthenticationProvider(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        delegate.setUserDetailsService(userDetailsService);
+        return new CachingAuthenticationProvider(delegate, meterRegistry, maximumSize, timeToLive);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.token.enabled", havingValue = "true")
+    public HmacTokenService hmacTokenService(@Value("${security.token.secret:}") String secret,
+                                             @Value("${security.token.time-to-live:15m}") Duration timeToLive) {
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (secret.isBlank()) {
+            log.warn("security.token.secret is not set; using a random key, so tokens will not survive a restart");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        }
+        return new HmacTokenService(key, timeToLive, Clock.systemUTC());
+    }
+
     @Bean
     public UserDetailsService users() {
+        return new InMemoryUserDetailsManager(userAccounts());
+    }
+
+    /**
+     * The accounts shared by the servlet application and the reactive read application.
+     */
+    public static List<UserDetails> userAccounts() {
 
-        //{noop} mean that password is not encrypted. If you want to use encryption you must declare it. For example using {bcrypt}
+        //Passwords are stored as {bcrypt} hashes; CachingAuthenticationProvider keeps repeat requests from re-hashing them
 
         UserDetails user1 = User.builder()
                 .username("admin")
-                .password("{noop}admin")
+                .password("{bcrypt}$2a$10$rgytjyBJK3wWRcfQpyUWe.YwKqpTGU.mSuDx5eY5evfGle2EiOC9G")
                 .roles("ADMIN")
                 .build();
         UserDetails user2 = User.builder()
                 .username("user")
-                .password("{noop}user")
+                .password("{bcrypt}$2a$10$fN4XAg4Y4CBbWhu6Vg09m.OVFtl8bfjf28GJ/0NItcvG8yYy1S.VS")
                 .roles("USER")
                 .build();
-        return new InMemoryUserDetailsManager(user1, user2);
+        return List.of(user1, user2);
     }
 }
@@ -0,0 +1,19 @@
+package com.shakhawat.springbootactuator.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Keeps the JPA bootstrap (and with it the DataSource and Flyway migrations) eager when lazy initialization
+     * is on, so schema validation fails the startup and the first request is not the one that builds Hibernate.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerPersistence() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EntityManagerFactory.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.shakhawat.springbootactuator.config;
+
+import com.shakhawat.springbootactuator.monitoring.VirtualThreadPinningEndpoint;
+import com.shakhawat.springbootactuator.monitoring.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Pinning diagnostics for the virtual-thread execution mode. Active only when
+ * {@code spring.threads.virtual.enabled=true} and the application runs on Java 21 or later.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "virtual-threads.pinning.enabled", matchIfMissing = true)
+public class VirtualThreadConfig {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                                   @Value("${virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+
+    @Bean
+    public VirtualThreadPinningEndpoint virtualThreadPinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        return new VirtualThreadPinningEndpoint(monitor);
+    }
+}
@@ -0,0 +1,78 @@
+package com.shakhawat.springbootactuator.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * A read replica's connection pool and the state last measured by {@link ReplicaSet#check()}. A replica starts out
+ * unavailable and only receives reads once a check has found its heartbeat within the allowed lag.
+ */
+public class Replica {
+
+    // Weight of the latest probe in the round-trip average used by least-latency selection
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final String name;
+
+    private final HikariDataSource dataSource;
+
+    private volatile boolean available;
+
+    private volatile Duration lag;
+
+    private volatile long latencyNanos = -1;
+
+    public Replica(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Heartbeat age at the last check, or {@code null} if the replica could not be read.
+     */
+    @Nullable
+    public Duration getLag() {
+        return lag;
+    }
+
+    /**
+     * Smoothed round-trip time of the lag probe, or {@code null} before the first successful probe.
+     */
+    @Nullable
+    public Duration getLatency() {
+        long latency = latencyNanos;
+        return latency < 0 ? null : Duration.ofNanos(latency);
+    }
+
+    long latencyNanos() {
+        long latency = latencyNanos;
+        return latency < 0 ? Long.MAX_VALUE : latency;
+    }
+
+    void recordProbe(Duration lag, long roundTripNanos, Duration maxLag) {
+        long previous = latencyNanos;
+        latencyNanos = previous < 0 ? roundTripNanos
+                : (long) (previous + LATENCY_SMOOTHING * (roundTripNanos - previous));
+        this.lag = lag;
+        this.available = lag.compareTo(maxLag) <= 0;
+    }
+
+    void recordFailure() {
+        this.lag = null;
+        this.available = false;
+    }
+}
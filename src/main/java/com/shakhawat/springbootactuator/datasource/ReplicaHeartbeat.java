@@ -0,0 +1,27 @@
+package com.shakhawat.springbootactuator.datasource;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Table definition for replication lag checks. {@link ReplicaSet} keeps a single row up to date on the primary and
+ * reads it back from each replica; the row is never touched through JPA.
+ */
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "replica_heartbeat")
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    // Epoch milliseconds, so the lag does not depend on the time zone of either database
+    @Column(nullable = false)
+    private Long beatAt;
+
+}
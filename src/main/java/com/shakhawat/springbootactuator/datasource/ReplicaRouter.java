@@ -0,0 +1,178 @@
+package com.shakhawat.springbootactuator.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Chooses where each new transaction runs: writes on the primary, read-only transactions on an available replica.
+ * A read-only transaction stays on the primary when it runs inside {@link ReplicaRouting#onPrimary}, when its
+ * principal committed a write within {@code datasource.replicas.read-your-writes-window}, or when no replica is
+ * within the allowed lag.
+ * <p>
+ * Replica reads bypass Hibernate's second-level and query caches ({@link CacheMode#IGNORE}), so a lagging replica
+ * cannot leave stale entries behind for transactions that read the primary.
+ */
+public class ReplicaRouter implements TransactionExecutionListener {
+
+    public static final String ROUTING_METRIC = "datasource.routing.transactions";
+
+    private final List<Replica> replicas;
+
+    private final ReplicaSelection selection;
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Counter writes;
+
+    private final Counter pinned;
+
+    private final Counter sticky;
+
+    private final Counter unavailable;
+
+    private final Map<String, Counter> replicaReads;
+
+    public ReplicaRouter(ReplicaSet replicaSet, ReplicaSelection selection, Duration readYourWritesWindow,
+                         ObjectProvider<EntityManagerFactory> entityManagerFactory, MeterRegistry meterRegistry) {
+        // A write may be missing from a replica for max-lag, plus up to one check interval before the lag is seen
+        if (readYourWritesWindow.compareTo(replicaSet.getMaxLag().plus(replicaSet.getCheckInterval())) < 0) {
+            throw new IllegalArgumentException("datasource.replicas.read-your-writes-window must be at least "
+                    + "max-lag plus check-interval, or a principal could read a replica that lacks their write");
+        }
+        this.replicas = replicaSet.getReplicas();
+        this.selection = selection;
+        this.entityManagerFactory = entityManagerFactory;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        this.writes = routed(meterRegistry, ReplicaRoutingDataSource.PRIMARY, "write");
+        this.pinned = routed(meterRegistry, ReplicaRoutingDataSource.PRIMARY, "pinned");
+        this.sticky = routed(meterRegistry, ReplicaRoutingDataSource.PRIMARY, "read-your-writes");
+        this.unavailable = routed(meterRegistry, ReplicaRoutingDataSource.PRIMARY, "no-replica");
+        this.replicaReads = replicas.stream().collect(Collectors.toMap(Replica::getName,
+                replica -> routed(meterRegistry, replica.getName(), "read")));
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder(ROUTING_METRIC)
+                .description("Transactions by the database they were routed to and why")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure != null) {
+            return;
+        }
+        Replica replica = route(transaction);
+        ReplicaRouting.push(transaction, replica, replica != null ? readWithoutCaching() : null);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        ReplicaRouting.pop(transaction);
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            String principal = currentPrincipal();
+            if (principal != null) {
+                recentWriters.put(principal, Boolean.TRUE);
+            }
+        }
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, @Nullable Throwable rollbackFailure) {
+        ReplicaRouting.pop(transaction);
+    }
+
+    @Nullable
+    private Replica route(TransactionExecution transaction) {
+        if (!transaction.isReadOnly()) {
+            writes.increment();
+            return null;
+        }
+        if (ReplicaRouting.isPinnedToPrimary()) {
+            pinned.increment();
+            return null;
+        }
+        String principal = currentPrincipal();
+        if (principal != null && recentWriters.getIfPresent(principal) != null) {
+            sticky.increment();
+            return null;
+        }
+        Replica replica = select();
+        if (replica == null) {
+            unavailable.increment();
+            return null;
+        }
+        replicaReads.get(replica.getName()).increment();
+        return replica;
+    }
+
+    @Nullable
+    private Replica select() {
+        List<Replica> available = replicas.stream().filter(Replica::isAvailable).toList();
+        if (available.isEmpty()) {
+            return null;
+        }
+        return switch (selection) {
+            case ROUND_ROBIN -> available.get(Math.floorMod(nextReplica.getAndIncrement(), available.size()));
+            case LEAST_LATENCY -> available.stream()
+                    .min((a, b) -> Long.compare(a.latencyNanos(), b.latencyNanos()))
+                    .orElseThrow();
+        };
+    }
+
+    @Nullable
+    private Runnable readWithoutCaching() {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(
+                entityManagerFactory.getObject());
+        if (entityManager == null) {
+            return null;
+        }
+        // Not CacheMode.GET: on a miss Hibernate 6.5 still stores the query result under the key it looked up
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        return () -> {
+            if (session.isOpen()) {
+                session.setCacheMode(previous);
+            }
+        };
+    }
+
+    @Nullable
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
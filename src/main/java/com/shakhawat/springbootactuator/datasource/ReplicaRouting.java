@@ -0,0 +1,88 @@
+package com.shakhawat.springbootactuator.datasource;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound routing state shared by {@link ReplicaRouter}, which decides where each transaction reads, and
+ * {@link ReplicaRoutingDataSource}, which hands out connections accordingly.
+ * <p>
+ * Reads whose results outlive the request or feed a reconciliation, where a replica's lag would not stay bounded,
+ * are wrapped in {@link #onPrimary}. Without replicas configured this class has no effect.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Deque<Route>> ROUTES = new ThreadLocal<>();
+
+    private static final ThreadLocal<Integer> PINNED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Runs {@code reads} with every transaction it starts, read-only or not, on the primary.
+     */
+    public static <T> T onPrimary(Supplier<T> reads) {
+        Integer previous = PINNED.get();
+        PINNED.set(previous == null ? 1 : previous + 1);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        }
+    }
+
+    public static void onPrimary(Runnable reads) {
+        onPrimary(() -> {
+            reads.run();
+            return null;
+        });
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * The replica chosen for the innermost transaction on this thread, or {@code null} for the primary.
+     */
+    @Nullable
+    static Replica currentReplica() {
+        Deque<Route> routes = ROUTES.get();
+        return routes == null || routes.isEmpty() ? null : routes.peek().replica();
+    }
+
+    static void push(TransactionExecution transaction, @Nullable Replica replica, @Nullable Runnable onCompletion) {
+        Deque<Route> routes = ROUTES.get();
+        if (routes == null) {
+            routes = new ArrayDeque<>();
+            ROUTES.set(routes);
+        }
+        routes.push(new Route(transaction, replica, onCompletion));
+    }
+
+    static void pop(TransactionExecution transaction) {
+        Deque<Route> routes = ROUTES.get();
+        if (routes == null || routes.isEmpty() || routes.peek().transaction() != transaction) {
+            return;
+        }
+        Route route = routes.pop();
+        if (routes.isEmpty()) {
+            ROUTES.remove();
+        }
+        if (route.onCompletion() != null) {
+            route.onCompletion().run();
+        }
+    }
+
+    private record Route(TransactionExecution transaction, @Nullable Replica replica, @Nullable Runnable onCompletion) {
+    }
+}
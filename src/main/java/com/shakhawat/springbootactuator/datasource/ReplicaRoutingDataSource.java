@@ -0,0 +1,32 @@
+package com.shakhawat.springbootactuator.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hands out primary or replica connections according to the route {@link ReplicaRouter} chose for the current
+ * transaction. Connections taken outside a transaction always come from the primary. It must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, because Hibernate asks for its
+ * connection while the transaction begins, before the route is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    public ReplicaRoutingDataSource(ReplicaSet replicaSet) {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, replicaSet.getPrimary());
+        replicaSet.getReplicas().forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = ReplicaRouting.currentReplica();
+        return replica != null ? replica.getName() : PRIMARY;
+    }
+}
@@ -0,0 +1,17 @@
+package com.shakhawat.springbootactuator.datasource;
+
+/**
+ * How a read-only transaction picks among the replicas that are currently available.
+ */
+public enum ReplicaSelection {
+
+    /**
+     * Takes the replicas in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Takes the replica with the lowest smoothed probe round-trip time.
+     */
+    LEAST_LATENCY
+}
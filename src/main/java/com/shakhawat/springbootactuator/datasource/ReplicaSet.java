@@ -0,0 +1,136 @@
+package com.shakhawat.springbootactuator.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The primary and replica pools, and the lag check that decides which replicas may serve reads. Every
+ * {@code datasource.replicas.check-interval} a heartbeat is written to the primary and read back from each replica;
+ * a replica whose copy is older than {@code datasource.replicas.max-lag}, or that cannot be read, is skipped until a
+ * later check finds it caught up.
+ */
+@Log4j2
+public class ReplicaSet implements DisposableBean {
+
+    private static final String UPDATE_HEARTBEAT_SQL = "update replica_heartbeat set beat_at = ? where id = 1";
+
+    private static final String INSERT_HEARTBEAT_SQL = "insert into replica_heartbeat (id, beat_at) values (1, ?)";
+
+    private static final String SELECT_HEARTBEAT_SQL = "select beat_at from replica_heartbeat where id = 1";
+
+    private final HikariDataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final TaskScheduler taskScheduler;
+
+    private final Duration maxLag;
+
+    private final Duration checkInterval;
+
+    public ReplicaSet(HikariDataSource primary, List<Replica> replicas, TaskScheduler taskScheduler,
+                      MeterRegistry meterRegistry, Duration maxLag, Duration checkInterval) {
+        if (checkInterval.compareTo(maxLag) >= 0) {
+            throw new IllegalArgumentException("datasource.replicas.check-interval must be shorter than max-lag, "
+                    + "or a replica that keeps up would still be reported as lagging between checks");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.taskScheduler = taskScheduler;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        for (Replica replica : this.replicas) {
+            TimeGauge.builder("datasource.replica.lag", replica,
+                            TimeUnit.MILLISECONDS, r -> r.getLag() != null ? r.getLag().toMillis() : Double.NaN)
+                    .description("Heartbeat age on the replica at the last check")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .description("Whether the replica is within the allowed lag and receives reads")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::check, Instant.now(), checkInterval);
+    }
+
+    public synchronized void check() {
+        try {
+            long now = System.currentTimeMillis();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(primary);
+            if (jdbcTemplate.update(UPDATE_HEARTBEAT_SQL, now) == 0) {
+                jdbcTemplate.update(INSERT_HEARTBEAT_SQL, now);
+            }
+        } catch (DuplicateKeyException ex) {
+            // Another instance inserted the row first; its beat serves as well as ours
+        } catch (DataAccessException ex) {
+            // Replicas are still probed: with no fresh beats they fall behind max-lag and reads move to the primary
+            log.warn("Could not write the replication heartbeat to the primary: {}", ex.getMessage());
+        }
+        for (Replica replica : replicas) {
+            probe(replica);
+        }
+    }
+
+    private void probe(Replica replica) {
+        boolean wasAvailable = replica.isAvailable();
+        long started = System.nanoTime();
+        try {
+            Long beatAt = new JdbcTemplate(replica.getDataSource()).queryForObject(SELECT_HEARTBEAT_SQL, Long.class);
+            long roundTrip = System.nanoTime() - started;
+            replica.recordProbe(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - beatAt)), roundTrip, maxLag);
+        } catch (DataAccessException ex) {
+            replica.recordFailure();
+            if (wasAvailable) {
+                log.warn("Replica {} could not be checked, reads move to the primary: {}", replica.getName(), ex.getMessage());
+            }
+            return;
+        }
+        if (wasAvailable && !replica.isAvailable()) {
+            log.warn("Replica {} is {} ms behind, over the {} ms allowed; reads move to the primary",
+                    replica.getName(), replica.getLag().toMillis(), maxLag.toMillis());
+        } else if (!wasAvailable && replica.isAvailable()) {
+            log.info("Replica {} is {} ms behind and receives reads", replica.getName(), replica.getLag().toMillis());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+        primary.close();
+    }
+}
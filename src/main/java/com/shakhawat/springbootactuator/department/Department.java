@@ -2,14 +2,20 @@ package com.shakhawat.springbootactuator.department;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
-@AllArgsConstructor
 @NoArgsConstructor
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "departments")
 @Table(name = "departments")
 public class Department {
     @Id
@@ -22,4 +28,18 @@ public class Department {
     @NotBlank(message = "Name is required")
     private String name;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    public Department(Long id, String shortName, String name) {
+        this.id = id;
+        this.shortName = shortName;
+        this.name = name;
+    }
+
 }
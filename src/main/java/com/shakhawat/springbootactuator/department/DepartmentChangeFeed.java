@@ -0,0 +1,26 @@
+package com.shakhawat.springbootactuator.department;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhawat.springbootactuator.web.ChangeFeed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Committed department creates, updates and deletes, served at {@code GET /api/departments/changes}. Deletes carry
+ * the department as it was before the delete.
+ */
+@Component
+public class DepartmentChangeFeed extends ChangeFeed {
+
+    public DepartmentChangeFeed(ChangeFeed.Settings changeFeedSettings, ObjectMapper objectMapper,
+                                TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        super("departments", changeFeedSettings, objectMapper, taskScheduler, meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        publish(changeType(event.before(), event.after()), event.after() != null ? event.after() : event.before());
+    }
+}
@@ -0,0 +1,8 @@
+package com.shakhawat.springbootactuator.department;
+
+/**
+ * Published for every department write with the department as it was before and after the change. {@code before}
+ * is null for a create and {@code after} is null for a delete.
+ */
+public record DepartmentChangedEvent(DepartmentDTO before, DepartmentDTO after) {
+}
@@ -1,53 +1,105 @@
 package com.shakhawat.springbootactuator.department;
 
+import com.shakhawat.springbootactuator.web.ChangeFeed;
+import com.shakhawat.springbootactuator.web.IdempotencyStore;
+import com.shakhawat.springbootactuator.web.ResourceVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.security.Principal;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/departments")
 @RequiredArgsConstructor
 public class DepartmentController {
 
+    // Shared by every miss, so ID scans do not allocate a response per request
+    private static final ResponseEntity<String> NOT_FOUND = ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body("Department not found");
+
     private final DepartmentService departmentService;
 
+    private final DepartmentStatsService departmentStatsService;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final DepartmentChangeFeed departmentChangeFeed;
+
     @GetMapping
-    public ResponseEntity<List<DepartmentDTO>> getAllDepartments() {
-        List<DepartmentDTO> departments = departmentService.getAllDepartments();
-        return ResponseEntity.ok(departments);
+    public ResponseEntity<List<DepartmentDTO>> getAllDepartments(WebRequest request) {
+        // The validator is cached with the list, so a 304 costs no query and always agrees with the body
+        DepartmentList departments = departmentService.getAllDepartments();
+        ResourceVersion version = departments.version();
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok(departments.departments());
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<DepartmentStats>> getAllDepartmentStats() {
+        return ResponseEntity.ok(departmentStatsService.getAllDepartmentStats());
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDepartmentChanges(Principal principal,
+                                              @RequestHeader(name = ChangeFeed.LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        return departmentChangeFeed.subscribe(principal.getName(), lastEventId);
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<?> getDepartmentStats(@PathVariable Long id) {
+        return departmentStatsService.getDepartmentStats(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(NOT_FOUND);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getDepartmentByIds(@PathVariable Long id) {
+    public ResponseEntity<?> getDepartmentByIds(@PathVariable Long id, WebRequest request) {
+        Optional<ResourceVersion> version = departmentService.getDepartmentVersion(id);
+        if (version.isEmpty()) {
+            return NOT_FOUND;
+        }
+        if (request.checkNotModified(version.get().eTag(), version.get().lastModifiedMillis())) {
+            return null;
+        }
         return departmentService.getDepartmentById(id)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(NOT_FOUND);
     }
 
     @PostMapping
-    public ResponseEntity<?> createDepartment(@Valid @RequestBody DepartmentDTO departmentDTO) {
-        DepartmentDTO createdDepartment = departmentService.createDepartment(departmentDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdDepartment);
+    public ResponseEntity<?> createDepartment(@Valid @RequestBody DepartmentDTO departmentDTO,
+                                              @RequestHeader(name = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "createDepartment", departmentDTO, () -> {
+            DepartmentDTO createdDepartment = departmentService.createDepartment(departmentDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdDepartment);
+        });
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateDepartment(@PathVariable Long id, @Valid @RequestBody DepartmentDTO departmentDTO) {
-        DepartmentDTO updatedDepartment = departmentService.updateDepartment(id, departmentDTO);
-        return ResponseEntity.ok(updatedDepartment);
+    public ResponseEntity<?> updateDepartment(@PathVariable Long id, @Valid @RequestBody DepartmentDTO departmentDTO,
+                                              @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DepartmentDTO updatedDepartment = departmentService.updateDepartment(id, departmentDTO, ifMatch);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        departmentService.getDepartmentVersion(id).ifPresent(version -> response.eTag(version.eTag()));
+        return response.body(updatedDepartment);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDepartment(@PathVariable Long id) {
-        if (departmentService.getDepartmentById(id).isPresent()) {
-            departmentService.deleteDepartment(id);
-            return ResponseEntity.noContent().build();
-        } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
+        departmentService.deleteDepartment(id);
+        return ResponseEntity.noContent().build();
     }
 
 }
@@ -0,0 +1,4 @@
+package com.shakhawat.springbootactuator.department;
+
+public record DepartmentGenderTotal(Long departmentId, String gender, long headcount, long ageSum) {
+}
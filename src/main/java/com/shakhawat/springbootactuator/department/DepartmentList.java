@@ -0,0 +1,12 @@
+package com.shakhawat.springbootactuator.department;
+
+import com.shakhawat.springbootactuator.web.ResourceVersion;
+
+import java.util.List;
+
+/**
+ * The cached department list with its validator, the row count and latest modification of the rows it holds, so a
+ * body and the ETag sent with it always describe the same rows.
+ */
+public record DepartmentList(List<DepartmentDTO> departments, ResourceVersion version) {
+}
@@ -1,8 +1,30 @@
 package com.shakhawat.springbootactuator.department;
 
+import com.shakhawat.springbootactuator.web.ResourceVersion;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select new com.shakhawat.springbootactuator.web.ResourceVersion(d.version, d.updatedAt) from Department d where d.id = :id")
+    Optional<ResourceVersion> findVersionById(Long id);
+
+    @Query("select d.id from Department d where d.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("select new com.shakhawat.springbootactuator.department.DepartmentGenderTotal(e.department.id, e.gender, count(e), sum(e.age)) "
+            + "from Employee e group by e.department.id, e.gender")
+    List<DepartmentGenderTotal> findEmployeeTotals();
 }
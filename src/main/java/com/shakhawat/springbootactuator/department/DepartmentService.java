@@ -1,42 +1,88 @@
 package com.shakhawat.springbootactuator.department;
 
+import com.shakhawat.springbootactuator.audit.AuditEvent;
+import com.shakhawat.springbootactuator.datasource.ReplicaRouting;
 import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.exception.ConstraintViolations;
+import com.shakhawat.springbootactuator.exception.ResourceConflictException;
 import com.shakhawat.springbootactuator.exception.ResourceNotFoundException;
+import com.shakhawat.springbootactuator.web.ResourceVersion;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Log4j2
+@Timed("service.method")
 @Service
 @RequiredArgsConstructor
 public class DepartmentService {
 
+    public static final String DEPARTMENT_CACHE = "departments";
+
+    public static final String DEPARTMENT_LIST_CACHE = "departmentList";
+
     private final DepartmentRepository departmentRepository;
 
-    public List<DepartmentDTO> getAllDepartments() {
-        return departmentRepository.findAll().stream().map(this::convertToDTO).collect(Collectors.toList());
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Department reads go to the primary: a replica's lag would otherwise last as long as the cache entry, and the
+    // versions behind the ETags must agree with the cached bodies
+    @Cacheable(DEPARTMENT_LIST_CACHE)
+    public DepartmentList getAllDepartments() {
+        List<Department> departments = ReplicaRouting.onPrimary(() -> departmentRepository.findAll());
+        Instant lastModified = departments.stream()
+                .map(Department::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new DepartmentList(departments.stream().map(this::convertToDTO).toList(),
+                new ResourceVersion((long) departments.size(), lastModified));
     }
 
+    // Misses are not cached: ids are sequential, so a probed id may well exist a moment later
+    @Cacheable(cacheNames = DEPARTMENT_CACHE, unless = "#result == null")
     public Optional<DepartmentDTO> getDepartmentById(Long id) {
         if (id == null) {
             throw new NullPointerException("Department ID must not be null");
         }
-        Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department with id: " + id + " not found"));
-        return Optional.of(convertToDTO(department));
+        return ReplicaRouting.onPrimary(() -> departmentRepository.findById(id).map(this::convertToDTO));
+    }
+
+    public Optional<ResourceVersion> getDepartmentVersion(Long id) {
+        return ReplicaRouting.onPrimary(() -> departmentRepository.findVersionById(id));
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = DEPARTMENT_LIST_CACHE, allEntries = true)
     public DepartmentDTO createDepartment(DepartmentDTO departmentDTO) {
         Department department = convertToEntity(departmentDTO);
         departmentRepository.save(department);
-        return convertToDTO(department);
+        audit(AuditEvent.Action.CREATE, department);
+        DepartmentDTO created = convertToDTO(department);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(null, created));
+        return created;
     }
 
-    public DepartmentDTO updateDepartment(Long id, DepartmentDTO departmentDTO) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = DEPARTMENT_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = DEPARTMENT_LIST_CACHE, allEntries = true)
+    })
+    @Transactional
+    public DepartmentDTO updateDepartment(Long id, DepartmentDTO departmentDTO, String ifMatch) {
         if (id == null) {
             throw new NullPointerException("Department ID must not be null");
         }
@@ -44,16 +90,25 @@ public class DepartmentService {
             throw new NullPointerException("Department DTO must not be null");
         }
         Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Department not found"));
-        if (department != null) {
-            department.setShortName(departmentDTO.getShortName());
-            department.setName(departmentDTO.getName());
-            departmentRepository.save(department);
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+        if (ifMatch != null && !new ResourceVersion(department.getVersion(), department.getUpdatedAt()).matches(ifMatch)) {
+            throw new OptimisticLockingFailureException("Department with id: " + id + " has been modified since " + ifMatch);
         }
-        assert department != null;
-        return convertToDTO(department);
+        DepartmentDTO before = convertToDTO(department);
+        department.setShortName(departmentDTO.getShortName());
+        department.setName(departmentDTO.getName());
+        departmentRepository.saveAndFlush(department);
+        audit(AuditEvent.Action.UPDATE, department);
+        DepartmentDTO after = convertToDTO(department);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(before, after));
+        return after;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = DEPARTMENT_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = DEPARTMENT_LIST_CACHE, allEntries = true)
+    })
+    @Transactional
     public void deleteDepartment(Long id) {
         log.info("Deleting department with id: {}", id);
         if (id == null) {
@@ -61,10 +116,24 @@ public class DepartmentService {
         }
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
-        departmentRepository.delete(department);
+        try {
+            departmentRepository.delete(department);
+            departmentRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.violatesForeignKey(ex, Employee.DEPARTMENT_CONSTRAINT)) {
+                throw new ResourceConflictException("Department with id: " + id + " still has employees");
+            }
+            throw ex;
+        }
+        audit(AuditEvent.Action.DELETE, department);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(convertToDTO(department), null));
+    }
+
+    private void audit(AuditEvent.Action action, Department department) {
+        eventPublisher.publishEvent(AuditEvent.of(action, Department.class.getSimpleName(), department.getId(), department.getShortName()));
     }
 
-    private DepartmentDTO convertToDTO(Department department) {
+    DepartmentDTO convertToDTO(Department department) {
         DepartmentDTO dto = new DepartmentDTO();
         dto.setId(department.getId());
         dto.setShortName(department.getShortName());
@@ -0,0 +1,6 @@
+package com.shakhawat.springbootactuator.department;
+
+import java.util.Map;
+
+public record DepartmentStats(Long departmentId, long headcount, Double averageAge, Map<String, Long> genders) {
+}
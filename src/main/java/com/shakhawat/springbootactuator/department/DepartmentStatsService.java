@@ -0,0 +1,227 @@
+package com.shakhawat.springbootactuator.department;
+
+import com.shakhawat.springbootactuator.datasource.ReplicaRouting;
+import com.shakhawat.springbootactuator.employee.EmployeeChangedEvent;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serves per-department headcount, average age and gender breakdown from counters kept in memory. The counters
+ * are adjusted from {@link EmployeeChangedEvent}s once the write commits, and reconciled against a
+ * {@code GROUP BY} over {@code employees} at startup and every {@code department.stats.reconcile-interval}.
+ * Writes made by other instances or directly in the database show up at the next reconciliation.
+ * <p>
+ * Each write is numbered just before it commits. A reconciliation records the writes that are committing when it
+ * takes its snapshot: the query counts them, so their events are dropped when they arrive. Only a commit that
+ * lands between the snapshot and the query's read can still be miscounted, until the next run.
+ */
+@Log4j2
+@Timed("service.method")
+@Service
+public class DepartmentStatsService {
+
+    private static final String UNKNOWN_GENDER = "Unknown";
+
+    private final ConcurrentMap<Long, Totals> totals = new ConcurrentHashMap<>();
+
+    /** Guards the write numbering below, and makes applying an event atomic with taking a snapshot. */
+    private final Object commits = new Object();
+
+    private long lastCommit;
+
+    /** Writes that have started to commit and whose events have not been applied yet. */
+    private final Set<Long> committing = new HashSet<>();
+
+    /** Writes already counted by a reconciliation query, whose events are dropped. */
+    private final Set<Long> counted = new HashSet<>();
+
+    private final DepartmentRepository departmentRepository;
+
+    private final DepartmentService departmentService;
+
+    private final TaskScheduler taskScheduler;
+
+    private final Duration reconcileInterval;
+
+    private final Counter corrections;
+
+    public DepartmentStatsService(DepartmentRepository departmentRepository, DepartmentService departmentService,
+                                  TaskScheduler taskScheduler, MeterRegistry meterRegistry,
+                                  @Value("${department.stats.reconcile-interval:5m}") Duration reconcileInterval) {
+        this.departmentRepository = departmentRepository;
+        this.departmentService = departmentService;
+        this.taskScheduler = taskScheduler;
+        this.reconcileInterval = reconcileInterval;
+        this.corrections = Counter.builder("department.stats.corrections")
+                .description("Departments whose counters were corrected by reconciliation")
+                .register(meterRegistry);
+        Gauge.builder("department.stats.departments", totals, Map::size)
+                .description("Departments with at least one employee")
+                .register(meterRegistry);
+    }
+
+    public Optional<DepartmentStats> getDepartmentStats(Long id) {
+        // Existence is checked against the department cache so an unknown id is not reported as empty
+        return departmentService.getDepartmentById(id)
+                .map(department -> totals.getOrDefault(id, Totals.EMPTY).toStats(id));
+    }
+
+    public List<DepartmentStats> getAllDepartmentStats() {
+        return departmentService.getAllDepartments().departments().stream()
+                .map(department -> totals.getOrDefault(department.getId(), Totals.EMPTY).toStats(department.getId()))
+                .toList();
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commit;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commit = startCommit();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                completeCommit(commit, status == STATUS_COMMITTED ? event : null);
+            }
+        });
+    }
+
+    private long startCommit() {
+        synchronized (commits) {
+            committing.add(++lastCommit);
+            return lastCommit;
+        }
+    }
+
+    /** Applies the event of a committed write unless a reconciliation already counted it. */
+    private void completeCommit(long commit, EmployeeChangedEvent event) {
+        synchronized (commits) {
+            committing.remove(commit);
+            if (!counted.remove(commit) && event != null) {
+                apply(event);
+            }
+        }
+    }
+
+    private void apply(EmployeeChangedEvent event) {
+        if (event.before() != null) {
+            add(event.before().getDepartmentId(), Totals.of(event.before()).negate());
+        }
+        if (event.after() != null) {
+            add(event.after().getDepartmentId(), Totals.of(event.after()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // The first load runs on the scheduler so it does not hold up readiness
+        taskScheduler.scheduleWithFixedDelay(this::reconcile, Instant.now(), reconcileInterval);
+    }
+
+    public synchronized void reconcile() {
+        // Events applied while the query runs are kept: each department moves by (actual - snapshot)
+        Map<Long, Totals> snapshot;
+        synchronized (commits) {
+            snapshot = new HashMap<>(totals);
+            // Already committed or about to; the query sees them, so the snapshot must not gain them later
+            counted.addAll(committing);
+        }
+        Map<Long, Totals> actual = new HashMap<>();
+        // A replica would miss recent changes whose events are already counted, and reconciliation would undo them
+        for (DepartmentGenderTotal total : ReplicaRouting.onPrimary(departmentRepository::findEmployeeTotals)) {
+            actual.merge(total.departmentId(), Totals.of(total), Totals::plus);
+        }
+        Set<Long> departments = new HashSet<>(snapshot.keySet());
+        departments.addAll(actual.keySet());
+        int corrected = 0;
+        for (Long departmentId : departments) {
+            Totals correction = actual.getOrDefault(departmentId, Totals.EMPTY)
+                    .plus(snapshot.getOrDefault(departmentId, Totals.EMPTY).negate());
+            if (!correction.isEmpty()) {
+                add(departmentId, correction);
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            corrections.increment(corrected);
+            log.info("Department stats reconciled: {} of {} departments corrected", corrected, departments.size());
+        }
+    }
+
+    private void add(Long departmentId, Totals delta) {
+        totals.compute(departmentId, (id, current) -> {
+            Totals updated = current != null ? current.plus(delta) : delta;
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    private record Totals(long headcount, long ageSum, Map<String, Long> genders) {
+
+        private static final Totals EMPTY = new Totals(0, 0, Map.of());
+
+        private static Totals of(EmployeeDTO employee) {
+            return new Totals(1, employee.getAge(), Map.of(genderOf(employee.getGender()), 1L));
+        }
+
+        private static Totals of(DepartmentGenderTotal total) {
+            return new Totals(total.headcount(), total.ageSum(), Map.of(genderOf(total.gender()), total.headcount()));
+        }
+
+        /** Rows written around the service can lack a gender. */
+        private static String genderOf(String gender) {
+            return Objects.requireNonNullElse(gender, UNKNOWN_GENDER);
+        }
+
+        private Totals plus(Totals other) {
+            Map<String, Long> merged = new TreeMap<>(genders);
+            other.genders.forEach((gender, count) -> merged.merge(gender, count, (a, b) -> a + b == 0 ? null : a + b));
+            return new Totals(headcount + other.headcount, ageSum + other.ageSum, Map.copyOf(merged));
+        }
+
+        private Totals negate() {
+            Map<String, Long> negated = new TreeMap<>();
+            genders.forEach((gender, count) -> negated.put(gender, -count));
+            return new Totals(-headcount, -ageSum, negated);
+        }
+
+        private boolean isEmpty() {
+            return headcount == 0 && ageSum == 0 && genders.isEmpty();
+        }
+
+        private DepartmentStats toStats(Long departmentId) {
+            Double averageAge = headcount > 0 ? (double) ageSum / headcount : null;
+            return new DepartmentStats(departmentId, headcount, averageAge, new TreeMap<>(genders));
+        }
+    }
+}
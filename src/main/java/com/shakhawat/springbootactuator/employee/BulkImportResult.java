@@ -0,0 +1,16 @@
+package com.shakhawat.springbootactuator.employee;
+
+import java.util.List;
+
+public record BulkImportResult(int total, int created, int failed, List<Row> rows) {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE_CODE,
+        UNKNOWN_DEPARTMENT
+    }
+
+    public record Row(int index, String code, Status status, String message) {
+    }
+}
@@ -5,23 +5,42 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
-@AllArgsConstructor
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "employees", uniqueConstraints = { @UniqueConstraint(name = "employees_code_unique", columnNames = { "code" }) })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
+@Table(name = "employees",
+        uniqueConstraints = { @UniqueConstraint(name = Employee.CODE_CONSTRAINT, columnNames = { "code" }) },
+        indexes = {
+                @Index(name = "employees_department_age_idx", columnList = "department_id, age"),
+                @Index(name = "employees_gender_age_idx", columnList = "gender, age"),
+                @Index(name = "employees_age_idx", columnList = "age"),
+                @Index(name = "employees_name_idx", columnList = "last_name, first_name")
+        })
 public class Employee {
 
+    public static final String CODE_CONSTRAINT = "employees_code_unique";
+
+    public static final String DEPARTMENT_CONSTRAINT = "employees_department_fk";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotBlank(message = "Code is required")
-    @Column(name = "code", unique = true, nullable = false)
+    @Column(name = "code", nullable = false)
     private String code;
 
     @NotBlank(message = "First name is required")
@@ -41,10 +60,33 @@ public class Employee {
 
     private String address;
 
-    @ManyToOne
-    @JoinColumn(name = "department_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id", nullable = false, foreignKey = @ForeignKey(name = DEPARTMENT_CONSTRAINT))
     private Department department;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    public Employee(Long id, String code, String firstName, String lastName, String fullName, int age, String gender,
+                    String address, Department department) {
+        this.id = id;
+        this.code = code;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.fullName = fullName;
+        this.age = age;
+        this.gender = gender;
+        this.address = address;
+        this.department = department;
+    }
+
     @PrePersist
     @PreUpdate
     private void setFullName() {
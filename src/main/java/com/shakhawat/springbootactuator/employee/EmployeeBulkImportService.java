@@ -0,0 +1,262 @@
+package com.shakhawat.springbootactuator.employee;
+
+import com.shakhawat.springbootactuator.audit.AuditEvent;
+import com.shakhawat.springbootactuator.datasource.ReplicaRouting;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.BulkImportResult.Row;
+import com.shakhawat.springbootactuator.employee.BulkImportResult.Status;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports employees in chunks of plain JDBC batch inserts. Hibernate cannot batch inserts for
+ * {@code GenerationType.IDENTITY} ids, so this path bypasses the persistence context entirely.
+ */
+@Log4j2
+@Timed("service.method")
+@Service
+public class EmployeeBulkImportService {
+
+    private static final String INSERT_SQL = "insert into employees "
+            + "(code, first_name, last_name, full_name, age, gender, address, department_id, version, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final DepartmentRepository departmentRepository;
+
+    private final Validator validator;
+
+    private final SessionFactory sessionFactory;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+
+    public EmployeeBulkImportService(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     EmployeeRepository employeeRepository,
+                                     DepartmentRepository departmentRepository,
+                                     Validator validator,
+                                     EntityManagerFactory entityManagerFactory,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${employee.bulk-import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.validator = validator;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    public BulkImportResult importEmployees(Iterator<EmployeeDTO> employees) {
+        // The pre-checks and the read-back must see the rows just written, so nothing is read from a replica
+        return ReplicaRouting.onPrimary(() -> importAll(employees));
+    }
+
+    private BulkImportResult importAll(Iterator<EmployeeDTO> employees) {
+        ImportState state = new ImportState();
+        List<Candidate> chunk = new ArrayList<>(batchSize);
+        int index = 0;
+        while (employees.hasNext()) {
+            chunk.add(new Candidate(index++, employees.next()));
+            if (chunk.size() == batchSize) {
+                importChunk(chunk, state);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, state);
+        }
+        state.rows.sort(Comparator.comparingInt(Row::index));
+        log.info("Bulk import finished: {} rows, {} created, {} failed", index, state.created, index - state.created);
+        return new BulkImportResult(index, state.created, index - state.created, state.rows);
+    }
+
+    private void importChunk(List<Candidate> chunk, ImportState state) {
+        List<Candidate> valid = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            if (candidate.employee() == null) {
+                // A JSON null element; the validator rejects null arguments outright
+                state.reject(candidate, Status.INVALID, "Employee must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<EmployeeDTO>> violations = validator.validate(candidate.employee());
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                state.reject(candidate, Status.INVALID, message);
+            } else if (!state.seenCodes.add(candidate.employee().getCode())) {
+                state.rejectDuplicate(candidate);
+            } else {
+                valid.add(candidate);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<Long> unresolved = valid.stream()
+                .map(candidate -> candidate.employee().getDepartmentId())
+                .filter(id -> !state.knownDepartments.contains(id) && !state.unknownDepartments.contains(id))
+                .collect(Collectors.toSet());
+        if (!unresolved.isEmpty()) {
+            Set<Long> existing = departmentRepository.findExistingIds(unresolved);
+            state.knownDepartments.addAll(existing);
+            unresolved.removeAll(existing);
+            state.unknownDepartments.addAll(unresolved);
+        }
+
+        Set<String> existingCodes = employeeRepository.findExistingCodes(
+                valid.stream().map(candidate -> candidate.employee().getCode()).toList());
+        List<Candidate> insertable = new ArrayList<>(valid.size());
+        for (Candidate candidate : valid) {
+            if (state.unknownDepartments.contains(candidate.employee().getDepartmentId())) {
+                state.reject(candidate, Status.UNKNOWN_DEPARTMENT,
+                        "Department with id: " + candidate.employee().getDepartmentId() + " not found");
+            } else if (existingCodes.contains(candidate.employee().getCode())) {
+                state.rejectDuplicate(candidate);
+            } else {
+                insertable.add(candidate);
+            }
+        }
+
+        try {
+            insert(insertable);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent writer claimed one of the codes after the pre-check; drop those rows and retry once
+            Set<String> raced = employeeRepository.findExistingCodes(
+                    insertable.stream().map(candidate -> candidate.employee().getCode()).toList());
+            List<Candidate> retry = new ArrayList<>(insertable.size());
+            for (Candidate candidate : insertable) {
+                if (raced.contains(candidate.employee().getCode())) {
+                    state.rejectDuplicate(candidate);
+                } else {
+                    retry.add(candidate);
+                }
+            }
+            insertable = retry;
+            try {
+                insert(insertable);
+            } catch (DataIntegrityViolationException retryEx) {
+                // Another row is at fault; insert one at a time so only the failing rows are rejected
+                insertable = insertEach(insertable, state);
+            }
+        }
+        for (Candidate candidate : insertable) {
+            state.rows.add(new Row(candidate.index(), candidate.employee().getCode(), Status.CREATED, null));
+        }
+        if (!insertable.isEmpty()) {
+            // Batch inserts do not return generated ids, so the chunk is read back by code for the change events.
+            // INSERT_SQL starts every row at version 0
+            for (EmployeeDTO created : employeeRepository.findProjectedByCodeIn(
+                    insertable.stream().map(candidate -> candidate.employee().getCode()).toList())) {
+                eventPublisher.publishEvent(AuditEvent.of(AuditEvent.Action.CREATE, Employee.class.getSimpleName(),
+                        created.getId(), created.getCode()));
+                eventPublisher.publishEvent(new EmployeeChangedEvent(null, created, 0));
+            }
+        }
+        state.created += insertable.size();
+    }
+
+    private void insert(List<Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Timestamp updatedAt = Timestamp.from(Instant.now());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, candidates, candidates.size(), (ps, candidate) -> {
+                    EmployeeDTO employee = candidate.employee();
+                    ps.setString(1, employee.getCode());
+                    ps.setString(2, employee.getFirstName());
+                    ps.setString(3, employee.getLastName());
+                    ps.setString(4, employee.getFirstName() + " " + employee.getLastName());
+                    ps.setInt(5, employee.getAge());
+                    ps.setString(6, employee.getGender());
+                    ps.setString(7, employee.getAddress());
+                    ps.setLong(8, employee.getDepartmentId());
+                    ps.setTimestamp(9, updatedAt);
+                }));
+        // Plain JDBC inserts bypass Hibernate's update timestamps, so cached employee queries must be dropped explicitly
+        sessionFactory.getCache().evictQueryRegions();
+    }
+
+    private List<Candidate> insertEach(List<Candidate> candidates, ImportState state) {
+        List<Candidate> inserted = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            EmployeeDTO employee = candidate.employee();
+            try {
+                insert(List.of(candidate));
+                inserted.add(candidate);
+            } catch (DataIntegrityViolationException ex) {
+                if (!employeeRepository.findExistingCodes(List.of(employee.getCode())).isEmpty()) {
+                    state.rejectDuplicate(candidate);
+                } else if (departmentRepository.findExistingIds(Set.of(employee.getDepartmentId())).isEmpty()) {
+                    state.knownDepartments.remove(employee.getDepartmentId());
+                    state.unknownDepartments.add(employee.getDepartmentId());
+                    state.reject(candidate, Status.UNKNOWN_DEPARTMENT,
+                            "Department with id: " + employee.getDepartmentId() + " not found");
+                } else {
+                    log.warn("Bulk import row {} rejected by the database: {}", candidate.index(), ex.getMostSpecificCause().getMessage());
+                    state.reject(candidate, Status.INVALID, "Rejected by the database");
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private record Candidate(int index, EmployeeDTO employee) {
+    }
+
+    private static final class ImportState {
+
+        private final List<Row> rows = new ArrayList<>();
+
+        private final Set<String> seenCodes = new HashSet<>();
+
+        private final Set<Long> knownDepartments = new HashSet<>();
+
+        private final Set<Long> unknownDepartments = new HashSet<>();
+
+        private int created;
+
+        private void reject(Candidate candidate, Status status, String message) {
+            String code = candidate.employee() != null ? candidate.employee().getCode() : null;
+            rows.add(new Row(candidate.index(), code, status, message));
+        }
+
+        private void rejectDuplicate(Candidate candidate) {
+            reject(candidate, Status.DUPLICATE_CODE,
+                    "Duplicate value '" + candidate.employee().getCode() + "' for field: code");
+        }
+    }
+}
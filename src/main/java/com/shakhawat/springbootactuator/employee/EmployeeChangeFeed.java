@@ -0,0 +1,26 @@
+package com.shakhawat.springbootactuator.employee;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhawat.springbootactuator.web.ChangeFeed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Committed employee creates, updates and deletes, served at {@code GET /api/employees/changes}. Deletes carry the
+ * employee as it was before the delete.
+ */
+@Component
+public class EmployeeChangeFeed extends ChangeFeed {
+
+    public EmployeeChangeFeed(ChangeFeed.Settings changeFeedSettings, ObjectMapper objectMapper,
+                              TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        super("employees", changeFeedSettings, objectMapper, taskScheduler, meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        publish(changeType(event.before(), event.after()), event.after() != null ? event.after() : event.before());
+    }
+}
@@ -0,0 +1,11 @@
+package com.shakhawat.springbootactuator.employee;
+
+/**
+ * Published for every employee write with the employee as it was before and after the change, so that derived
+ * views such as department statistics and the search index can be adjusted without reading {@code employees}.
+ * {@code before} is null for a create and {@code after} is null for a delete. {@code version} is the row version
+ * the write produced, or for a delete the version that was deleted; listeners may run in a different order than
+ * the writes committed, and can use it to ignore a change older than one they have already applied.
+ */
+public record EmployeeChangedEvent(EmployeeDTO before, EmployeeDTO after, long version) {
+}
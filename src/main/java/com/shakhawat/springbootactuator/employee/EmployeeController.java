@@ -1,55 +1,166 @@
 package com.shakhawat.springbootactuator.employee;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhawat.springbootactuator.web.ChangeFeed;
+import com.shakhawat.springbootactuator.web.IdempotencyStore;
+import com.shakhawat.springbootactuator.web.ResourceVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/employees")
 @RequiredArgsConstructor
 public class EmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    // Shared by every miss, so ID scans do not allocate a response per request
+    private static final ResponseEntity<String> NOT_FOUND = ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body("Employee not found");
+
     private final EmployeeService employeeService;
 
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final EmployeeBulkImportService employeeBulkImportService;
+
+    private final EmployeeExportService employeeExportService;
+
+    private final EmployeeChangeFeed employeeChangeFeed;
+
+    private final ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        List<EmployeeDTO> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(EmployeeFilter filter,
+                                                             @RequestParam(required = false) String sort,
+                                                             @RequestParam(required = false) String after,
+                                                             @RequestParam(defaultValue = "100") int limit) {
+        EmployeePage page = employeeService.getEmployeePage(filter, EmployeeSort.parse(sort), after, Math.min(limit, MAX_PAGE_SIZE));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        StreamingResponseBody body = outputStream -> employeeService.streamAllEmployees(employee -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(employee));
+                outputStream.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(EmployeeFilter filter,
+                                                                 @RequestParam(defaultValue = "csv") String format) {
+        if (!format.equalsIgnoreCase("csv")) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = outputStream -> employeeExportService.exportCsv(filter, outputStream);
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("employees.csv").build().toString())
+                .body(body);
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges(Principal principal,
+                                            @RequestHeader(name = ChangeFeed.LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        return employeeChangeFeed.subscribe(principal.getName(), lastEventId);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeDTO>> searchEmployees(@RequestParam String q,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(employeeSearchIndex.search(q, Math.min(limit, MAX_SEARCH_RESULTS)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<?> getEmployeeById(@PathVariable Long id, WebRequest request) {
         if (id == null || id <= 0) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
+        Optional<ResourceVersion> version = employeeService.getEmployeeVersion(id);
+        if (version.isEmpty()) {
+            return NOT_FOUND;
+        }
+        // Answers If-None-Match / If-Modified-Since with 304 before the employee is loaded
+        if (request.checkNotModified(version.get().eTag(), version.get().lastModifiedMillis())) {
+            return null;
+        }
         return employeeService.getEmployeeById(id)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(NOT_FOUND);
     }
 
     @PostMapping
-    public ResponseEntity<?> createEmployee(@Valid @RequestBody EmployeeDTO employeeDTO) {
-        EmployeeDTO createdEmployee = employeeService.createEmployee(employeeDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
+    public ResponseEntity<?> createEmployee(@Valid @RequestBody EmployeeDTO employeeDTO,
+                                            @RequestHeader(name = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "createEmployee", employeeDTO, () -> {
+            EmployeeDTO createdEmployee = employeeService.createEmployee(employeeDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
+        });
+    }
+
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<BulkImportResult> bulkCreateEmployees(@RequestBody List<EmployeeDTO> employees) {
+        return ResponseEntity.ok(employeeBulkImportService.importEmployees(employees.iterator()));
+    }
+
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkImportResult> bulkCreateEmployees(InputStream body) throws IOException {
+        try (MappingIterator<EmployeeDTO> employees = objectMapper.readerFor(EmployeeDTO.class).readValues(body)) {
+            return ResponseEntity.ok(employeeBulkImportService.importEmployees(employees));
+        }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeDTO employeeDTO) {
-        EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeDTO);
-        return ResponseEntity.ok(updatedEmployee);
+    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeDTO employeeDTO,
+                                            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeDTO, ifMatch);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        employeeService.getEmployeeVersion(id).ifPresent(version -> response.eTag(version.eTag()));
+        return response.body(updatedEmployee);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
-        if (employeeService.getEmployeeById(id).isPresent()) {
-            employeeService.deleteEmployee(id);
-            return ResponseEntity.noContent().build();
-        } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
+        employeeService.deleteEmployee(id);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,85 @@
+package com.shakhawat.springbootactuator.employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset cursor for paging through employees. The default (id) order encodes only the last id;
+ * other sort orders encode the sort and the last row's value for every sort attribute.
+ */
+public final class EmployeeCursor {
+
+    private static final String PREFIX = "e:";
+
+    private static final String SORTED_PREFIX = "s:";
+
+    private static final String SEPARATOR = ".";
+
+    private EmployeeCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        return base64(PREFIX + lastId);
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        long lastId;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            lastId = raw.startsWith(PREFIX) ? Long.parseLong(raw.substring(PREFIX.length())) : -1L;
+        } catch (IllegalArgumentException ex) {
+            lastId = -1L;
+        }
+        if (lastId < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return lastId;
+    }
+
+    public static String encode(EmployeeSort sort, List<Object> values) {
+        if (sort.isDefault()) {
+            return encode((Long) values.get(0));
+        }
+        StringBuilder raw = new StringBuilder(SORTED_PREFIX).append(sort);
+        for (Object value : values) {
+            raw.append(SEPARATOR).append(base64(String.valueOf(value)));
+        }
+        return base64(raw.toString());
+    }
+
+    /**
+     * Decodes a cursor issued for the same sort into the sort attribute values, or {@code null} for the first page.
+     */
+    public static List<String> decode(String cursor, EmployeeSort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        if (sort.isDefault()) {
+            return List.of(String.valueOf(decode(cursor)));
+        }
+        List<String> values = new ArrayList<>();
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\.", -1);
+            if (parts[0].equals(SORTED_PREFIX + sort)) {
+                for (int i = 1; i < parts.length; i++) {
+                    values.add(new String(Base64.getUrlDecoder().decode(parts[i]), StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            values.clear();
+        }
+        if (values.size() != sort.key().attributes().size()) {
+            throw new IllegalArgumentException("Invalid cursor for sort '" + sort + "': " + cursor);
+        }
+        return values;
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
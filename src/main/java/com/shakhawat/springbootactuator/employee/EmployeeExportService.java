@@ -0,0 +1,134 @@
+package com.shakhawat.springbootactuator.employee;
+
+import com.shakhawat.springbootactuator.web.CsvWriter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full employee exports. Rows are read through a forward-only JDBC cursor and written to the response as they
+ * arrive, without entities or DTOs, so memory use stays the same however many employees there are. With MySQL
+ * the cursor is only server-side when the URL sets {@code useCursorFetch=true}; otherwise the driver reads the
+ * whole result into memory.
+ */
+@Timed("service.method")
+@Service
+public class EmployeeExportService {
+
+    private static final String[] CSV_HEADER = {
+            "id", "code", "firstName", "lastName", "fullName", "age", "gender", "address", "departmentId"
+    };
+
+    private static final String SELECT_SQL = "select id, code, first_name, last_name, full_name, age, gender, address, "
+            + "department_id from employees";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int fetchSize;
+
+    private final int bufferSize;
+
+    private final Counter exportedRows;
+
+    public EmployeeExportService(JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${employee.export.fetch-size:1000}") int fetchSize,
+                                 @Value("${employee.export.buffer-size:16384}") int bufferSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+        this.bufferSize = bufferSize;
+        this.exportedRows = Counter.builder("employee.export.rows")
+                .description("Employee rows written by exports")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes the employees matching the filter as CSV, in id order, and returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(EmployeeFilter filter, OutputStream outputStream) throws IOException {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT_SQL + where(filter, args) + " order by id";
+        CsvWriter csv = new CsvWriter(outputStream, bufferSize);
+        csv.row(CSV_HEADER);
+        long[] rows = new long[1];
+        RowCallbackHandler writeRow = resultSet -> {
+            try {
+                writeCsv(csv, resultSet);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            rows[0]++;
+        };
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    statement.setObject(i + 1, args.get(i));
+                }
+                return statement;
+            }, writeRow);
+            csv.flush();
+        } finally {
+            exportedRows.increment(rows[0]);
+        }
+        return rows[0];
+    }
+
+    private static void writeCsv(CsvWriter csv, ResultSet resultSet) throws IOException, SQLException {
+        csv.field(resultSet.getLong(1))
+                .field(resultSet.getString(2))
+                .field(resultSet.getString(3))
+                .field(resultSet.getString(4))
+                .field(resultSet.getString(5))
+                .field(resultSet.getInt(6))
+                .field(resultSet.getString(7))
+                .field(resultSet.getString(8))
+                .field(resultSet.getLong(9))
+                .endRow();
+    }
+
+    /**
+     * The predicates of {@link EmployeeSpecifications#matching(EmployeeFilter)}, in SQL.
+     */
+    private static String where(EmployeeFilter filter, List<Object> args) {
+        List<String> predicates = new ArrayList<>();
+        if (filter.departmentId() != null) {
+            predicates.add("department_id = ?");
+            args.add(filter.departmentId());
+        }
+        if (filter.gender() != null) {
+            predicates.add("gender = ?");
+            args.add(filter.gender());
+        }
+        if (filter.minAge() != null) {
+            predicates.add("age >= ?");
+            args.add(filter.minAge());
+        }
+        if (filter.maxAge() != null) {
+            predicates.add("age <= ?");
+            args.add(filter.maxAge());
+        }
+        if (filter.name() != null) {
+            predicates.add("last_name like ? escape '" + EmployeeSpecifications.LIKE_ESCAPE + "'");
+            args.add(EmployeeSpecifications.startsWithPattern(filter.name()));
+        }
+        return predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates);
+    }
+}
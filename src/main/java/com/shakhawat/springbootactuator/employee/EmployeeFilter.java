@@ -0,0 +1,21 @@
+package com.shakhawat.springbootactuator.employee;
+
+/**
+ * Optional employee list filters; {@code name} is a last-name prefix.
+ */
+public record EmployeeFilter(Long departmentId, String gender, Integer minAge, Integer maxAge, String name) {
+
+    public static final EmployeeFilter NONE = new EmployeeFilter(null, null, null, null, null);
+
+    public EmployeeFilter {
+        if (minAge != null && maxAge != null && minAge > maxAge) {
+            throw new IllegalArgumentException("minAge must be less than or equal to maxAge");
+        }
+        gender = gender == null || gender.isBlank() ? null : gender;
+        name = name == null || name.isBlank() ? null : name;
+    }
+
+    public boolean isEmpty() {
+        return departmentId == null && gender == null && minAge == null && maxAge == null && name == null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.shakhawat.springbootactuator.employee;
+
+import java.util.List;
+
+public record EmployeePage(List<EmployeeDTO> content, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
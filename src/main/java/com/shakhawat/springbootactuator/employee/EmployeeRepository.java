@@ -1,8 +1,56 @@
 package com.shakhawat.springbootactuator.employee;
 
+import com.shakhawat.springbootactuator.web.ResourceVersion;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+
+    String DTO_PROJECTION = "select new com.shakhawat.springbootactuator.employee.EmployeeDTO("
+            + "e.id, e.code, e.firstName, e.lastName, e.fullName, e.age, e.gender, e.address, e.department.id) "
+            + "from Employee e ";
+
+    @Query(DTO_PROJECTION + "where e.id = :id")
+    Optional<EmployeeDTO> findProjectedById(Long id);
+
+    @Query(DTO_PROJECTION + "where e.id > :id order by e.id")
+    List<EmployeeDTO> findProjectedByIdGreaterThan(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_PROJECTION + "order by e.id")
+    Stream<EmployeeDTO> streamAllProjectedBy();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.shakhawat.springbootactuator.employee.VersionedEmployee("
+            + "e.id, e.code, e.firstName, e.lastName, e.fullName, e.age, e.gender, e.address, e.department.id, e.version) "
+            + "from Employee e order by e.id")
+    Stream<VersionedEmployee> streamAllVersionedBy();
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select new com.shakhawat.springbootactuator.web.ResourceVersion(e.version, e.updatedAt) from Employee e where e.id = :id")
+    Optional<ResourceVersion> findVersionById(Long id);
+
+    @Query("select e.code from Employee e where e.code in :codes")
+    Set<String> findExistingCodes(Collection<String> codes);
+
+    @Query(DTO_PROJECTION + "where e.code in :codes")
+    List<EmployeeDTO> findProjectedByCodeIn(Collection<String> codes);
+
+    @EntityGraph(attributePaths = "department")
+    Optional<Employee> findWithDepartmentById(Long id);
 }
@@ -0,0 +1,12 @@
+package com.shakhawat.springbootactuator.employee;
+
+import java.util.List;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Keyset page of employees matching the filter. {@code after} holds the sort values of the last row
+     * of the previous page, or is {@code null} for the first page.
+     */
+    List<EmployeeDTO> findProjectedPage(EmployeeFilter filter, EmployeeSort sort, List<String> after, int limit);
+}
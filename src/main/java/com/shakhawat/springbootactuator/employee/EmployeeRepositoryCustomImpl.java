@@ -0,0 +1,82 @@
+package com.shakhawat.springbootactuator.employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<EmployeeDTO> findProjectedPage(EmployeeFilter filter, EmployeeSort sort, List<String> after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDTO> query = cb.createQuery(EmployeeDTO.class);
+        Root<Employee> employee = query.from(Employee.class);
+        query.select(cb.construct(EmployeeDTO.class,
+                employee.get("id"), employee.get("code"), employee.get("firstName"), employee.get("lastName"),
+                employee.get("fullName"), employee.get("age"), employee.get("gender"), employee.get("address"),
+                employee.get("department").get("id")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filterPredicate = EmployeeSpecifications.matching(filter).toPredicate(employee, query, cb);
+        if (filterPredicate != null) {
+            predicates.add(filterPredicate);
+        }
+        if (after != null) {
+            predicates.add(seek(cb, employee, sort, after));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        List<Order> orders = new ArrayList<>();
+        for (String attribute : sort.key().attributes()) {
+            Path<Object> path = employee.get(attribute);
+            orders.add(sort.descending() ? cb.desc(path) : cb.asc(path));
+        }
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Row-value comparison {@code (a, b, id) > (:a, :b, :id)} expanded into
+     * {@code a > :a or (a = :a and (b > :b or (b = :b and id > :id)))}.
+     */
+    private Predicate seek(CriteriaBuilder cb, Root<Employee> employee, EmployeeSort sort, List<String> after) {
+        List<String> attributes = sort.key().attributes();
+        Predicate predicate = null;
+        for (int i = attributes.size() - 1; i >= 0; i--) {
+            Expression<Comparable<Object>> path = employee.get(attributes.get(i));
+            Comparable<Object> value = convert(path, after.get(i));
+            Predicate beyond = sort.descending() ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+            predicate = predicate == null ? beyond : cb.or(beyond, cb.and(cb.equal(path, value), predicate));
+        }
+        return predicate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> convert(Expression<?> path, String value) {
+        Class<?> type = path.getJavaType();
+        Object converted;
+        if (type == Long.class || type == long.class) {
+            converted = Long.valueOf(value);
+        } else if (type == Integer.class || type == int.class) {
+            converted = Integer.valueOf(value);
+        } else {
+            converted = value;
+        }
+        return (Comparable<Object>) converted;
+    }
+}
@@ -0,0 +1,158 @@
+package com.shakhawat.springbootactuator.employee;
+
+import com.shakhawat.springbootactuator.datasource.ReplicaRouting;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory search over employee code, full name and address. The index is built from the database when the
+ * application is ready and again every {@code employee.search.rebuild-interval}, which also drops the dead slots
+ * left by updates and deletes. In between it follows committed changes from {@link EmployeeChangedEvent}s, by
+ * row version rather than arrival order.
+ */
+@Log4j2
+@Service
+public class EmployeeSearchIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final EmployeeService employeeService;
+
+    private final TaskScheduler taskScheduler;
+
+    private final Duration rebuildInterval;
+
+    private final Timer rebuildTimer;
+
+    private EmployeeSearchSegment segment = new EmployeeSearchSegment();
+
+    // Changes that arrive while a rebuild is reading the table, replayed onto the new segment before it is swapped in
+    private List<EmployeeChangedEvent> pending;
+
+    private volatile Instant lastRebuiltAt;
+
+    private volatile Duration lastRebuildDuration;
+
+    public EmployeeSearchIndex(EmployeeService employeeService, TaskScheduler taskScheduler, MeterRegistry meterRegistry,
+                               @Value("${employee.search.rebuild-interval:6h}") Duration rebuildInterval) {
+        this.employeeService = employeeService;
+        this.taskScheduler = taskScheduler;
+        this.rebuildInterval = rebuildInterval;
+        this.rebuildTimer = Timer.builder("employee.search.rebuild")
+                .description("Time taken to rebuild the employee search index from the database")
+                .register(meterRegistry);
+        Gauge.builder("employee.search.documents", () -> read(() -> segment.documentCount()))
+                .description("Employees in the search index")
+                .register(meterRegistry);
+        Gauge.builder("employee.search.terms", () -> read(() -> segment.termCount()))
+                .description("Distinct terms in the search index")
+                .register(meterRegistry);
+    }
+
+    public List<EmployeeDTO> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return read(() -> segment.search(query, limit));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        write(() -> {
+            apply(segment, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::rebuild, Instant.now(), rebuildInterval);
+    }
+
+    public synchronized void rebuild() {
+        write(() -> pending = new ArrayList<>());
+        long started = System.nanoTime();
+        EmployeeSearchSegment rebuilt = new EmployeeSearchSegment();
+        try {
+            // Changes are only replayed from the start of the rebuild, so it must not read a lagging replica
+            ReplicaRouting.onPrimary(() -> employeeService.streamAllVersionedEmployees(
+                    employee -> rebuilt.put(employee.employee(), employee.version())));
+        } catch (RuntimeException ex) {
+            write(() -> pending = null);
+            throw ex;
+        }
+        write(() -> {
+            pending.forEach(event -> apply(rebuilt, event));
+            pending = null;
+            segment = rebuilt;
+        });
+        lastRebuildDuration = Duration.ofNanos(System.nanoTime() - started);
+        lastRebuiltAt = Instant.now();
+        rebuildTimer.record(lastRebuildDuration.toNanos(), TimeUnit.NANOSECONDS);
+        log.info("Employee search index rebuilt: {} employees, {} terms in {} ms",
+                rebuilt.documentCount(), rebuilt.termCount(), lastRebuildDuration.toMillis());
+    }
+
+    public Stats stats() {
+        return read(() -> new Stats(segment.documentCount(), segment.deadSlotCount(), segment.termCount(),
+                segment.postingCount(), segment.estimatedBytes(), lastRebuiltAt,
+                lastRebuildDuration != null ? lastRebuildDuration.toMillis() : null));
+    }
+
+    // Listeners run in whatever order the transactions completed, and replayed changes may predate the rebuilt rows;
+    // the segment ignores a change older than the version it holds
+    private static void apply(EmployeeSearchSegment target, EmployeeChangedEvent event) {
+        if (event.after() != null) {
+            target.put(event.after(), event.version());
+        } else if (event.before() != null) {
+            target.remove(event.before().getId());
+        }
+    }
+
+    private <T> T read(Supplier<T> action) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return action.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            action.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public record Stats(int documents, int deadSlots, int terms, long postings, long estimatedBytes,
+                        Instant lastRebuiltAt, Long lastRebuildMillis) {
+    }
+}
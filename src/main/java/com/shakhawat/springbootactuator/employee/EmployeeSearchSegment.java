@@ -0,0 +1,304 @@
+package com.shakhawat.springbootactuator.employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Inverted index over employee code, full name and address. Each term maps to the slots of the documents that
+ * contain it, in ascending order because slots are only ever appended. Re-indexing or removing an employee leaves
+ * a dead slot in the postings until the segment is rebuilt. Not thread-safe; {@link EmployeeSearchIndex} guards it.
+ */
+final class EmployeeSearchSegment {
+
+    static final int EXACT = 3;
+
+    static final int PREFIX = 2;
+
+    static final int FUZZY = 1;
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final int MAX_PREFIX_TERMS = 256;
+
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    // Best hit first: higher score, then the older slot
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed().thenComparingInt(Hit::slot);
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final TreeSet<String> terms = new TreeSet<>();
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    // Latest version indexed per employee, DELETED once removed, so a change that arrives late cannot undo a newer one
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    private EmployeeDTO[] documents = new EmployeeDTO[1024];
+
+    private int slotCount;
+
+    private long postingCount;
+
+    /**
+     * Indexes the employee as of {@code version}, unless the segment already holds that or a later version of it,
+     * or has seen it deleted.
+     */
+    void put(EmployeeDTO employee, long version) {
+        Long indexed = versions.get(employee.getId());
+        if (indexed != null && indexed >= version) {
+            return;
+        }
+        versions.put(employee.getId(), version);
+        clear(employee.getId());
+        if (slotCount == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        int slot = slotCount++;
+        documents[slot] = employee;
+        slots.put(employee.getId(), slot);
+        for (String term : terms(employee)) {
+            Postings termPostings = postings.get(term);
+            if (termPostings == null) {
+                termPostings = new Postings();
+                postings.put(term, termPostings);
+                terms.add(term);
+            }
+            termPostings.add(slot);
+            postingCount++;
+        }
+    }
+
+    /**
+     * Removes the employee for good: ids are never reused, so any later change to it is older than the delete.
+     */
+    void remove(Long id) {
+        versions.put(id, DELETED);
+        clear(id);
+    }
+
+    private void clear(Long id) {
+        Integer slot = slots.remove(id);
+        if (slot != null) {
+            documents[slot] = null;
+        }
+    }
+
+    /**
+     * Returns the employees matching every word of the query, best first. A word matches a term exactly, as a
+     * prefix of at least two characters, or, from four characters on, within one insertion, deletion, substitution
+     * or swap of adjacent characters.
+     */
+    List<EmployeeDTO> search(String query, int limit) {
+        List<String> queryTerms = List.copyOf(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        List<List<Match>> matches = new ArrayList<>(queryTerms.size());
+        int driver = 0;
+        long driverSize = Long.MAX_VALUE;
+        for (String term : queryTerms) {
+            List<Match> termMatches = matches(term);
+            if (termMatches.isEmpty()) {
+                return List.of();
+            }
+            long size = termMatches.stream().mapToLong(match -> match.postings().size).sum();
+            if (size < driverSize) {
+                driver = matches.size();
+                driverSize = size;
+            }
+            matches.add(termMatches);
+        }
+
+        // Candidates come from the most selective word and are checked against the others by binary search.
+        // Once the best possible score is reached limit times, no later candidate can rank higher.
+        int bestOfOthers = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            if (i != driver) {
+                bestOfOthers += matches.get(i).get(0).weight();
+            }
+        }
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        BitSet seen = new BitSet();
+        int scanned = 0;
+        candidates:
+        for (Match match : matches.get(driver)) {
+            if (best.size() == limit && best.peek().score() >= match.weight() + bestOfOthers) {
+                break;
+            }
+            for (int i = 0; i < match.postings().size; i++) {
+                int slot = match.postings().slots[i];
+                if (documents[slot] == null || seen.get(slot)) {
+                    continue;
+                }
+                seen.set(slot);
+                if (++scanned > MAX_CANDIDATES) {
+                    break candidates;
+                }
+                int score = score(matches, driver, match.weight(), slot);
+                if (score > 0) {
+                    best.offer(new Hit(slot, score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                    if (best.size() == limit && best.peek().score() == match.weight() + bestOfOthers) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best.stream().sorted(RANKING).map(hit -> documents[hit.slot()]).toList();
+    }
+
+    int documentCount() {
+        return slots.size();
+    }
+
+    int deadSlotCount() {
+        return slotCount - slots.size();
+    }
+
+    int termCount() {
+        return terms.size();
+    }
+
+    long postingCount() {
+        return postingCount;
+    }
+
+    /**
+     * Rough heap footprint of the index structures, excluding the employee DTOs they point to.
+     */
+    long estimatedBytes() {
+        long bytes = (long) documents.length * 4 + (slots.size() + versions.size()) * 64L;
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            // String, hash map node and tree set node, plus the postings array
+            bytes += 56 + entry.getKey().length() + 48 + 40 + 32 + entry.getValue().slots.length * 4L;
+        }
+        return bytes;
+    }
+
+    private int score(List<List<Match>> matches, int driver, int driverWeight, int slot) {
+        int score = driverWeight;
+        for (int i = 0; i < matches.size(); i++) {
+            if (i == driver) {
+                continue;
+            }
+            int weight = 0;
+            for (Match match : matches.get(i)) {
+                if (match.postings().contains(slot)) {
+                    weight = match.weight();
+                    break;
+                }
+            }
+            if (weight == 0) {
+                return 0;
+            }
+            score += weight;
+        }
+        return score;
+    }
+
+    // Ordered by weight, so the first match containing a slot is its best one
+    private List<Match> matches(String term) {
+        List<Match> matches = new ArrayList<>();
+        Postings exact = postings.get(term);
+        if (exact != null) {
+            matches.add(new Match(exact, EXACT));
+        }
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            int expanded = 0;
+            for (String candidate : terms.subSet(term, false, term + Character.MAX_VALUE, false)) {
+                if (expanded++ == MAX_PREFIX_TERMS) {
+                    break;
+                }
+                matches.add(new Match(postings.get(candidate), PREFIX));
+            }
+        }
+        if (term.length() >= MIN_FUZZY_LENGTH) {
+            for (String variant : variants(term)) {
+                Postings fuzzy = postings.get(variant);
+                if (fuzzy != null) {
+                    matches.add(new Match(fuzzy, FUZZY));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static Set<String> variants(String term) {
+        Set<String> variants = new LinkedHashSet<>();
+        for (int i = 0; i < term.length(); i++) {
+            String head = term.substring(0, i);
+            String tail = term.substring(i + 1);
+            variants.add(head + tail);
+            if (i + 1 < term.length()) {
+                variants.add(head + term.charAt(i + 1) + term.charAt(i) + term.substring(i + 2));
+            }
+            for (char c : ALPHABET) {
+                variants.add(head + c + tail);
+                // Appending at the end is left out because the prefix match already covers it
+                variants.add(head + c + term.substring(i));
+            }
+        }
+        variants.remove(term);
+        return variants;
+    }
+
+    private static Set<String> terms(EmployeeDTO employee) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.addAll(tokenize(employee.getCode()));
+        terms.addAll(tokenize(employee.getFullName()));
+        terms.addAll(tokenize(employee.getAddress()));
+        return terms;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private record Match(Postings postings, int weight) {
+    }
+
+    private record Hit(int slot, int score) {
+    }
+
+    private static final class Postings {
+
+        private int[] slots = new int[2];
+
+        private int size;
+
+        private void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size + (size >> 1) + 1);
+            }
+            slots[size++] = slot;
+        }
+
+        private boolean contains(int slot) {
+            return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+        }
+    }
+}
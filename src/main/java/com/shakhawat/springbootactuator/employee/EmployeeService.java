@@ -1,18 +1,29 @@
 package com.shakhawat.springbootactuator.employee;
 
+import com.shakhawat.springbootactuator.audit.AuditEvent;
 import com.shakhawat.springbootactuator.department.Department;
 import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.exception.ConstraintViolations;
+import com.shakhawat.springbootactuator.exception.ResourceConflictException;
 import com.shakhawat.springbootactuator.exception.ResourceNotFoundException;
+import com.shakhawat.springbootactuator.web.ResourceVersion;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Log4j2
+@Timed("service.method")
 @RequiredArgsConstructor
 @Service
 public class EmployeeService {
@@ -21,26 +32,79 @@ public class EmployeeService {
 
     private final DepartmentRepository departmentRepository;
 
-    public List<EmployeeDTO> getAllEmployees() {
-        return employeeRepository.findAll().stream().map(this::convertToDTO).collect(Collectors.toList());
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeePage(String after, int limit) {
+        return getEmployeePage(EmployeeFilter.NONE, EmployeeSort.DEFAULT, after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeePage(EmployeeFilter filter, EmployeeSort sort, String after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        // Fetch one extra row to find out whether another page exists without a count query
+        List<EmployeeDTO> employees;
+        if (filter.isEmpty() && sort.isDefault()) {
+            employees = employeeRepository.findProjectedByIdGreaterThan(EmployeeCursor.decode(after), Limit.of(limit + 1));
+        } else {
+            employees = employeeRepository.findProjectedPage(filter, sort, EmployeeCursor.decode(after, sort), limit + 1);
+        }
+        boolean hasNext = employees.size() > limit;
+        List<EmployeeDTO> content = hasNext ? employees.subList(0, limit) : employees;
+        String nextCursor = hasNext ? EmployeeCursor.encode(sort, sort.valuesOf(content.get(content.size() - 1))) : null;
+        return new EmployeePage(content, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<EmployeeDTO> consumer) {
+        try (Stream<EmployeeDTO> employees = employeeRepository.streamAllProjectedBy()) {
+            employees.forEach(consumer);
+        }
     }
 
+    @Transactional(readOnly = true)
+    public void streamAllVersionedEmployees(Consumer<VersionedEmployee> consumer) {
+        try (Stream<VersionedEmployee> employees = employeeRepository.streamAllVersionedBy()) {
+            employees.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Optional<EmployeeDTO> getEmployeeById(Long id) {
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-        return Optional.of(convertToDTO(employee));
+        return employeeRepository.findProjectedById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id);
+    }
+
+    @Transactional
     public EmployeeDTO createEmployee(EmployeeDTO employeeDTO) {
         Employee employee = convertToEntity(employeeDTO);
         employee.setFullName(employee.getFirstName() + " " + employee.getLastName());
-        employeeRepository.save(employee);
-        return convertToDTO(employee);
+        try {
+            // IDENTITY ids make Hibernate insert immediately, so constraint violations surface here
+            employeeRepository.save(employee);
+        } catch (DataIntegrityViolationException ex) {
+            throw translate(ex, employeeDTO);
+        }
+        audit(AuditEvent.Action.CREATE, employee);
+        EmployeeDTO created = convertToDTO(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(null, created, employee.getVersion()));
+        return created;
     }
 
-    public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO) {
+    @Transactional
+    public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, String ifMatch) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee with id: " + id + " not found"));
+        if (ifMatch != null && !new ResourceVersion(employee.getVersion(), employee.getUpdatedAt()).matches(ifMatch)) {
+            throw new OptimisticLockingFailureException("Employee with id: " + id + " has been modified since " + ifMatch);
+        }
+        EmployeeDTO before = convertToDTO(employee);
         employee.setCode(employeeDTO.getCode());
         employee.setFirstName(employeeDTO.getFirstName());
         employee.setLastName(employeeDTO.getLastName());
@@ -48,23 +112,46 @@ public class EmployeeService {
         employee.setAge(employeeDTO.getAge());
         employee.setGender(employeeDTO.getGender());
         employee.setAddress(employeeDTO.getAddress());
-        employee.setDepartment(getDepartmentById(employeeDTO.getDepartmentId()));
-        return convertToDTO(employeeRepository.save(employee));
-    }
-
-    private Department getDepartmentById(Long id) {
-        return departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department with id: " + id + " not found"));
+        employee.setDepartment(departmentRepository.getReferenceById(employeeDTO.getDepartmentId()));
+        Employee updated;
+        try {
+            // The flush issues the version-checked UPDATE, so a concurrent writer fails here rather than at commit
+            updated = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException ex) {
+            throw translate(ex, employeeDTO);
+        }
+        audit(AuditEvent.Action.UPDATE, updated);
+        EmployeeDTO after = convertToDTO(updated);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(before, after, updated.getVersion()));
+        return after;
     }
 
+    @Transactional
     public void deleteEmployee(Long id) {
         log.info("Deleting employee with id: {}", id);
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
         employeeRepository.delete(employee);
+        employeeRepository.flush();
+        audit(AuditEvent.Action.DELETE, employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(convertToDTO(employee), null, employee.getVersion()));
+    }
+
+    private RuntimeException translate(DataIntegrityViolationException ex, EmployeeDTO employeeDTO) {
+        if (ConstraintViolations.violatesUnique(ex, Employee.CODE_CONSTRAINT)) {
+            return new ResourceConflictException("Duplicate value '" + employeeDTO.getCode() + "' for field: code");
+        }
+        if (ConstraintViolations.violatesForeignKey(ex, Employee.DEPARTMENT_CONSTRAINT)) {
+            return new ResourceNotFoundException("Department with id: " + employeeDTO.getDepartmentId() + " not found");
+        }
+        return ex;
+    }
+
+    private void audit(AuditEvent.Action action, Employee employee) {
+        eventPublisher.publishEvent(AuditEvent.of(action, Employee.class.getSimpleName(), employee.getId(), employee.getCode()));
     }
 
-    private EmployeeDTO convertToDTO(Employee employee) {
+    EmployeeDTO convertToDTO(Employee employee) {
         EmployeeDTO dto = new EmployeeDTO();
         dto.setId(employee.getId());
         dto.setCode(employee.getCode());
@@ -78,9 +165,9 @@ public class EmployeeService {
         return dto;
     }
 
-    private Employee convertToEntity(EmployeeDTO employeeDTO) {
-        Department department = departmentRepository.findById(employeeDTO.getDepartmentId())
-                .orElseThrow(() -> new RuntimeException("Department not found"));
+    Employee convertToEntity(EmployeeDTO employeeDTO) {
+        // A reference proxy avoids a SELECT; an unknown department is reported by the foreign key on insert
+        Department department = departmentRepository.getReferenceById(employeeDTO.getDepartmentId());
         Employee employee = new Employee();
         employee.setCode(employeeDTO.getCode());
         employee.setFirstName(employeeDTO.getFirstName());
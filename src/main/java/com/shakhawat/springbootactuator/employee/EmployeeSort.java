@@ -0,0 +1,62 @@
+package com.shakhawat.springbootactuator.employee;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sort order for employee listings, written as {@code age} or {@code -age} for descending. Every key ends
+ * with the primary key so that keyset pagination has a unique position to seek from.
+ */
+public record EmployeeSort(Key key, boolean descending) {
+
+    public static final EmployeeSort DEFAULT = new EmployeeSort(Key.ID, false);
+
+    public enum Key {
+        ID("id"),
+        NAME("lastName", "firstName", "id"),
+        AGE("age", "id");
+
+        private final List<String> attributes;
+
+        Key(String... attributes) {
+            this.attributes = List.of(attributes);
+        }
+
+        public List<String> attributes() {
+            return attributes;
+        }
+    }
+
+    public static EmployeeSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT;
+        }
+        boolean descending = value.startsWith("-");
+        String name = descending ? value.substring(1) : value;
+        for (Key key : Key.values()) {
+            if (key.name().equalsIgnoreCase(name)) {
+                return new EmployeeSort(key, descending);
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort key: " + value);
+    }
+
+    public boolean isDefault() {
+        return DEFAULT.equals(this);
+    }
+
+    public List<Object> valuesOf(EmployeeDTO employee) {
+        return key.attributes().stream().<Object>map(attribute -> switch (attribute) {
+            case "id" -> employee.getId();
+            case "lastName" -> employee.getLastName();
+            case "firstName" -> employee.getFirstName();
+            case "age" -> employee.getAge();
+            default -> throw new IllegalStateException("Unsupported sort attribute: " + attribute);
+        }).toList();
+    }
+
+    @Override
+    public String toString() {
+        return (descending ? "-" : "") + key.name().toLowerCase(Locale.ROOT);
+    }
+}
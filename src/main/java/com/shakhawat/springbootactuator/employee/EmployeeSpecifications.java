@@ -0,0 +1,66 @@
+package com.shakhawat.springbootactuator.employee;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filter predicates for employee listings. Each one is backed by an index declared on {@link Employee}.
+ */
+public final class EmployeeSpecifications {
+
+    /** Shared with the export's SQL, where a backslash would need escaping again inside MySQL string literals. */
+    static final char LIKE_ESCAPE = '!';
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> inDepartment(Long departmentId) {
+        return (root, query, cb) -> cb.equal(root.get("department").get("id"), departmentId);
+    }
+
+    public static Specification<Employee> hasGender(String gender) {
+        return (root, query, cb) -> cb.equal(root.get("gender"), gender);
+    }
+
+    public static Specification<Employee> ageAtLeast(int minAge) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("age"), minAge);
+    }
+
+    public static Specification<Employee> ageAtMost(int maxAge) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("age"), maxAge);
+    }
+
+    public static Specification<Employee> lastNameStartsWith(String prefix) {
+        String pattern = startsWithPattern(prefix);
+        return (root, query, cb) -> cb.like(root.get("lastName"), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * A {@code LIKE} pattern, escaped with {@link #LIKE_ESCAPE}, for values starting with {@code prefix} as written.
+     */
+    static String startsWithPattern(String prefix) {
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    public static Specification<Employee> matching(EmployeeFilter filter) {
+        List<Specification<Employee>> specifications = new ArrayList<>();
+        if (filter.departmentId() != null) {
+            specifications.add(inDepartment(filter.departmentId()));
+        }
+        if (filter.gender() != null) {
+            specifications.add(hasGender(filter.gender()));
+        }
+        if (filter.minAge() != null) {
+            specifications.add(ageAtLeast(filter.minAge()));
+        }
+        if (filter.maxAge() != null) {
+            specifications.add(ageAtMost(filter.maxAge()));
+        }
+        if (filter.name() != null) {
+            specifications.add(lastNameStartsWith(filter.name()));
+        }
+        return Specification.allOf(specifications);
+    }
+}
@@ -0,0 +1,13 @@
+package com.shakhawat.springbootactuator.employee;
+
+/**
+ * An employee with the row version it was read at, for readers that merge a table scan with later
+ * {@link EmployeeChangedEvent}s and must tell which of the two is newer.
+ */
+public record VersionedEmployee(EmployeeDTO employee, long version) {
+
+    public VersionedEmployee(Long id, String code, String firstName, String lastName, String fullName, int age,
+                             String gender, String address, Long departmentId, Long version) {
+        this(new EmployeeDTO(id, code, firstName, lastName, fullName, age, gender, address, departmentId), version);
+    }
+}
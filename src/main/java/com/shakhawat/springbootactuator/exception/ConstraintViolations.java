@@ -0,0 +1,61 @@
+package com.shakhawat.springbootactuator.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Identifies which named constraint a write violated, using the name Hibernate extracts for the dialect
+ * instead of parsing vendor error messages.
+ * <p>
+ * Databases created by ddl-auto=update carry generated constraint names until the V3 migration has run, so the
+ * unique and foreign key checks also accept a violation of that kind by SQLState (MySQL reports both as 23000 and
+ * is told apart by its error code). Use them only for statements that can violate a single constraint of the kind.
+ */
+public final class ConstraintViolations {
+
+    private static final Set<String> UNIQUE_STATES = Set.of("23505");
+    /** H2 reports a missing parent row as 23506, other databases use 23503 for both directions. */
+    private static final Set<String> FOREIGN_KEY_STATES = Set.of("23503", "23506");
+    private static final Set<Integer> MYSQL_UNIQUE_CODES = Set.of(1062);
+    /** Cannot delete or update a parent row, cannot add or update a child row. */
+    private static final Set<Integer> MYSQL_FOREIGN_KEY_CODES = Set.of(1451, 1452);
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean violates(DataIntegrityViolationException ex, String constraintName) {
+        ConstraintViolationException violation = violation(ex);
+        String violated = violation != null ? violation.getConstraintName() : null;
+        return violated != null && violated.toLowerCase(Locale.ROOT).contains(constraintName.toLowerCase(Locale.ROOT));
+    }
+
+    public static boolean violatesUnique(DataIntegrityViolationException ex, String constraintName) {
+        return violates(ex, constraintName) || hasState(ex, UNIQUE_STATES, MYSQL_UNIQUE_CODES);
+    }
+
+    public static boolean violatesForeignKey(DataIntegrityViolationException ex, String constraintName) {
+        return violates(ex, constraintName) || hasState(ex, FOREIGN_KEY_STATES, MYSQL_FOREIGN_KEY_CODES);
+    }
+
+    private static boolean hasState(DataIntegrityViolationException ex, Set<String> sqlStates, Set<Integer> mysqlCodes) {
+        ConstraintViolationException violation = violation(ex);
+        SQLException sqlException = violation != null ? violation.getSQLException() : null;
+        if (sqlException == null || sqlException.getSQLState() == null) {
+            return false;
+        }
+        return sqlStates.contains(sqlException.getSQLState())
+                || sqlException.getSQLState().equals("23000") && mysqlCodes.contains(sqlException.getErrorCode());
+    }
+
+    private static ConstraintViolationException violation(DataIntegrityViolationException ex) {
+        Throwable cause = ex.getCause();
+        while (cause != null && !(cause instanceof ConstraintViolationException)) {
+            cause = cause.getCause();
+        }
+        return (ConstraintViolationException) cause;
+    }
+}
@@ -0,0 +1,17 @@
+package com.shakhawat.springbootactuator.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS)
+public class TooManySubscriptionsException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public TooManySubscriptionsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,127 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.availability.AvailabilityStateHealthIndicator;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthContributorNameFactory;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.actuate.health.PingHealthIndicator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces each health indicator bean with a {@link CachedHealthIndicator} and refreshes them all on a fixed
+ * interval. Members of a composite contributor, such as one {@code db} entry per data source, are wrapped one by one.
+ * The availability state and ping indicators only read memory, so they are left as they are and stay live.
+ */
+@Log4j2
+public class CachedHealthChecks implements BeanPostProcessor, SmartInitializingSingleton, DisposableBean {
+
+    private final Duration interval;
+
+    private final Duration timeout;
+
+    private final Duration maxStaleness;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final List<CachedHealthIndicator> indicators = new CopyOnWriteArrayList<>();
+
+    // Checks run apart from the scheduler thread, so one that hangs does not hold up the others
+    private final ExecutorService checks = Executors.newCachedThreadPool(daemonThreads("health-check-"));
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("health-scheduler-"));
+
+    public CachedHealthChecks(Duration interval, Duration timeout, Duration maxStaleness,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        if (timeout.compareTo(interval) > 0) {
+            throw new IllegalArgumentException("health.checks.timeout (" + timeout
+                    + ") must not exceed health.checks.interval (" + interval + ")");
+        }
+        if (maxStaleness.compareTo(interval) <= 0) {
+            throw new IllegalArgumentException("health.checks.max-staleness (" + maxStaleness
+                    + ") must be longer than health.checks.interval (" + interval + ")");
+        }
+        this.interval = interval;
+        this.timeout = timeout;
+        this.maxStaleness = maxStaleness;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HealthContributor contributor) {
+            return wrap(HealthContributorNameFactory.INSTANCE.apply(beanName), contributor);
+        }
+        return bean;
+    }
+
+    private HealthContributor wrap(String name, HealthContributor contributor) {
+        if (contributor instanceof CachedHealthIndicator
+                || contributor instanceof AvailabilityStateHealthIndicator
+                || contributor instanceof PingHealthIndicator) {
+            return contributor;
+        }
+        if (contributor instanceof HealthIndicator indicator) {
+            CachedHealthIndicator cached = new CachedHealthIndicator(name, indicator, checks, timeout, maxStaleness,
+                    Clock.systemUTC());
+            indicators.add(cached);
+            return cached;
+        }
+        if (contributor instanceof CompositeHealthContributor composite) {
+            Map<String, HealthContributor> members = composite.stream()
+                    .collect(Collectors.toMap(NamedContributor::getName,
+                            member -> wrap(name + "." + member.getName(), member.getContributor())));
+            return CompositeHealthContributor.fromMap(members, Function.identity());
+        }
+        return contributor;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        meterRegistry.ifAvailable(registry -> indicators.forEach(indicator -> indicator.bindTo(registry)));
+        scheduler.scheduleWithFixedDelay(this::refreshAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Checking {} health indicators every {}", indicators.size(), interval);
+    }
+
+    public List<CachedHealthIndicator> getIndicators() {
+        return List.copyOf(indicators);
+    }
+
+    /**
+     * Starts a check of every wrapped indicator that is not still busy with its previous one.
+     */
+    public void refreshAll() {
+        indicators.forEach(CachedHealthIndicator::refresh);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        checks.shutdownNow();
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -0,0 +1,147 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.lang.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers health requests from the result of the last background check of the wrapped indicator, so a probe never
+ * waits on, or adds load to, the resource being checked. A check that runs past the timeout is reported as down,
+ * and no new check is started until it returns. A result older than the staleness bound is reported as down too.
+ */
+public class CachedHealthIndicator implements HealthIndicator {
+
+    public static final String DURATION_METRIC = "health.check";
+
+    private final String name;
+
+    private final HealthIndicator delegate;
+
+    private final Executor executor;
+
+    private final Duration timeout;
+
+    private final Duration maxStaleness;
+
+    private final Clock clock;
+
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    @Nullable
+    private MeterRegistry meterRegistry;
+
+    public CachedHealthIndicator(String name, HealthIndicator delegate, Executor executor, Duration timeout,
+                                 Duration maxStaleness, Clock clock) {
+        this.name = name;
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Registers the check duration timer and the age of the current result.
+     */
+    public void bindTo(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        TimeGauge.builder("health.check.age", this, TimeUnit.MILLISECONDS, CachedHealthIndicator::ageMillis)
+                .description("Time since the cached health result was taken")
+                .tag("contributor", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Health health() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Nothing has been checked yet: check now, still bounded by the timeout
+            CompletableFuture<Snapshot> check = refresh();
+            current = check != null ? check.join() : snapshot;
+            if (current == null) {
+                return Health.unknown().withDetail("error", "Not checked yet").build();
+            }
+        }
+        if (Duration.between(current.checkedAt(), clock.instant()).compareTo(maxStaleness) > 0) {
+            return Health.down()
+                    .withDetail("error", "Last checked more than " + maxStaleness.toMillis() + " ms ago")
+                    .withDetail("checkedAt", current.checkedAt())
+                    .build();
+        }
+        return current.health();
+    }
+
+    /**
+     * Starts a check of the wrapped indicator and returns its outcome, or {@code null} if an earlier check has not
+     * returned yet.
+     */
+    @Nullable
+    public CompletableFuture<Snapshot> refresh() {
+        if (!inFlight.compareAndSet(false, true)) {
+            return null;
+        }
+        long started = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return delegate.health();
+                    } finally {
+                        inFlight.set(false);
+                    }
+                }, executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((health, failure) -> record(health, failure, System.nanoTime() - started));
+    }
+
+    private Snapshot record(@Nullable Health health, @Nullable Throwable failure, long elapsedNanos) {
+        if (failure instanceof CompletionException) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof TimeoutException) {
+            health = Health.down().withDetail("error", "Timed out after " + timeout.toMillis() + " ms").build();
+        } else if (failure != null) {
+            health = Health.down(failure).build();
+        }
+        Instant checkedAt = clock.instant();
+        Snapshot recorded = new Snapshot(Health.status(health.getStatus())
+                .withDetails(health.getDetails())
+                .withDetail("checkedAt", checkedAt)
+                .build(), checkedAt);
+        snapshot = recorded;
+        if (meterRegistry != null) {
+            Timer.builder(DURATION_METRIC)
+                    .description("Time taken by a background health check")
+                    .tag("contributor", name)
+                    .tag("status", health.getStatus().getCode())
+                    .register(meterRegistry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        return recorded;
+    }
+
+    private double ageMillis() {
+        Snapshot current = snapshot;
+        return current == null ? Double.NaN : Duration.between(current.checkedAt(), clock.instant()).toMillis();
+    }
+
+    public record Snapshot(Health health, Instant checkedAt) {
+    }
+}
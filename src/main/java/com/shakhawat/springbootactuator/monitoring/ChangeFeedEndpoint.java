@@ -0,0 +1,37 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import com.shakhawat.springbootactuator.web.ChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shows each change feed's latest sequence number and replay buffer, and every subscriber with the last event sent
+ * to it and how many events it is behind.
+ */
+@Component
+@Endpoint(id = "change-feeds")
+@RequiredArgsConstructor
+public class ChangeFeedEndpoint {
+
+    private final List<ChangeFeed> changeFeeds;
+
+    @ReadOperation
+    public Map<String, Object> feeds() {
+        Map<String, Object> feeds = new LinkedHashMap<>();
+        for (ChangeFeed feed : changeFeeds) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("epoch", feed.getEpoch());
+            details.put("sequence", feed.getSequence());
+            details.put("replayed", feed.getReplayed());
+            details.put("subscribers", feed.getSubscribers());
+            feeds.put(feed.getName(), details);
+        }
+        return feeds;
+    }
+}
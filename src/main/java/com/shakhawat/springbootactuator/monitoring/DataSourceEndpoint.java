@@ -0,0 +1,63 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import com.shakhawat.springbootactuator.datasource.Replica;
+import com.shakhawat.springbootactuator.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shows the primary and each replica with its pool usage and, for replicas, the lag and probe latency from the last
+ * check. Routing counts are in the {@code datasource.routing.transactions} metric.
+ */
+@Component
+@Endpoint(id = "datasources")
+@ConditionalOnProperty("datasource.replicas.urls")
+@RequiredArgsConstructor
+public class DataSourceEndpoint {
+
+    private final ReplicaSet replicaSet;
+
+    @ReadOperation
+    public Map<String, Object> datasources() {
+        Map<String, Object> datasources = new LinkedHashMap<>();
+        datasources.put("primary", Map.of("pool", pool(replicaSet.getPrimary())));
+        List<Map<String, Object>> replicas = replicaSet.getReplicas().stream().map(this::replica).toList();
+        datasources.put("replicas", replicas);
+        datasources.put("maxLag", replicaSet.getMaxLag());
+        return datasources;
+    }
+
+    private Map<String, Object> replica(Replica replica) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("name", replica.getName());
+        details.put("url", replica.getDataSource().getJdbcUrl());
+        details.put("available", replica.isAvailable());
+        details.put("lag", replica.getLag());
+        details.put("latency", replica.getLatency());
+        details.put("pool", pool(replica.getDataSource()));
+        return details;
+    }
+
+    private static Map<String, Object> pool(HikariDataSource dataSource) {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("maximumSize", dataSource.getMaximumPoolSize());
+        HikariPoolMXBean stats = dataSource.getHikariPoolMXBean();
+        // Null until the pool's first connection is requested
+        if (stats != null) {
+            pool.put("active", stats.getActiveConnections());
+            pool.put("idle", stats.getIdleConnections());
+            pool.put("total", stats.getTotalConnections());
+            pool.put("waiting", stats.getThreadsAwaitingConnection());
+        }
+        return pool;
+    }
+}
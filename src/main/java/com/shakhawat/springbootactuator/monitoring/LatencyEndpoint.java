@@ -0,0 +1,111 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Summarizes the slowest HTTP routes and service methods. Percentiles and max come from the
+ * timers' decaying histograms, so they cover the configured distribution expiry window only.
+ */
+@Component
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class LatencyEndpoint {
+
+    public static final String HTTP_TIMER = "http.server.requests";
+
+    public static final String SERVICE_TIMER = "service.method";
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Map<String, Object> latency(@Nullable Integer limit) {
+        int top = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        List<Timer> httpTimers = timers(HTTP_TIMER);
+        List<Timer> serviceTimers = timers(SERVICE_TIMER);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("routes", slowest(httpTimers, top, "method", "uri", "status"));
+        summary.put("serviceMethods", slowest(serviceTimers, top, "class", "method", "exception"));
+        summary.put("histograms", histogramFootprint(httpTimers, serviceTimers));
+        return summary;
+    }
+
+    private List<Timer> timers(String name) {
+        return List.copyOf(meterRegistry.find(name).timers());
+    }
+
+    private List<Map<String, Object>> slowest(List<Timer> timers, int limit, String... tagKeys) {
+        return timers.stream()
+                .map(timer -> new TimerSummary(timer, timer.takeSnapshot()))
+                .filter(summary -> summary.snapshot().count() > 0)
+                .sorted(Comparator.comparingDouble(TimerSummary::p99).reversed())
+                .limit(limit)
+                .map(summary -> summary.describe(tagKeys))
+                .toList();
+    }
+
+    private Map<String, Object> histogramFootprint(List<Timer> httpTimers, List<Timer> serviceTimers) {
+        Map<String, Object> footprint = new LinkedHashMap<>();
+        footprint.put("timers", httpTimers.size() + serviceTimers.size());
+        footprint.put("buckets", bucketCount(httpTimers) + bucketCount(serviceTimers));
+        return footprint;
+    }
+
+    private static long bucketCount(List<Timer> timers) {
+        return timers.stream().mapToLong(timer -> timer.takeSnapshot().histogramCounts().length).sum();
+    }
+
+    private record TimerSummary(Timer timer, HistogramSnapshot snapshot) {
+
+        double p99() {
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                if (percentile.percentile() == 0.99) {
+                    return percentile.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            return snapshot.max(TimeUnit.MILLISECONDS);
+        }
+
+        Map<String, Object> describe(String... tagKeys) {
+            Map<String, Object> description = new LinkedHashMap<>();
+            for (String key : tagKeys) {
+                String value = timer.getId().getTag(key);
+                if (value != null) {
+                    description.put(key, value);
+                }
+            }
+            description.put("count", snapshot.count());
+            description.put("meanMillis", snapshot.mean(TimeUnit.MILLISECONDS));
+            description.put("maxMillis", snapshot.max(TimeUnit.MILLISECONDS));
+            description.put("percentilesMillis", percentiles());
+            return description;
+        }
+
+        private Map<String, Double> percentiles() {
+            return Arrays.stream(snapshot.percentileValues())
+                    .collect(Collectors.toMap(
+                            percentile -> "p" + Math.round(percentile.percentile() * 100),
+                            percentile -> percentile.value(TimeUnit.MILLISECONDS),
+                            (first, second) -> first,
+                            LinkedHashMap::new));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import lombok.extern.log4j.Log4j2;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Adds every executed statement and fetched row to the current {@link QueryStats} and hands statements
+ * slower than the threshold to a background slow-query logger, so the JDBC thread never blocks on logging.
+ */
+@Log4j2(topic = "slow-query")
+public class QueryMetricsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String START_NANOS = "startNanos";
+
+    private static final int SLOW_QUERY_QUEUE_CAPACITY = 1000;
+
+    private final long slowQueryThresholdNanos;
+
+    private final ExecutorService slowQueryLogger = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(SLOW_QUERY_QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-log");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public QueryMetricsListener(Duration slowQueryThreshold) {
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+        int statements = execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size();
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.recordStatements(statements, elapsedNanos);
+        }
+        if (elapsedNanos >= slowQueryThresholdNanos) {
+            String thread = Thread.currentThread().getName();
+            slowQueryLogger.execute(() -> log.warn("Slow query ({} ms, {} statement(s), thread {}): {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), statements, thread,
+                    queryInfoList.stream().map(QueryInfo::getQuery).distinct().collect(Collectors.joining("; "))));
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && executionContext.getMethod().getName().equals("next")) {
+            QueryStats stats = QueryStats.current();
+            if (stats != null) {
+                stats.recordRow();
+            }
+        }
+    }
+}
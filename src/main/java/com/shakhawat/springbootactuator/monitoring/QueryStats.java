@@ -0,0 +1,57 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+/**
+ * JDBC activity of the current request, collected by {@link QueryMetricsListener} on the request thread, and on
+ * the MVC async thread of a streamed response (see {@link QueryStatsAsyncSupport}).
+ */
+public final class QueryStats {
+
+    static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+
+    private long rows;
+
+    private long nanos;
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void bind(QueryStats stats) {
+        CURRENT.set(stats);
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    void recordStatements(int count, long elapsedNanos) {
+        statements += count;
+        nanos += elapsedNanos;
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,36 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Binds the request's {@link QueryStats} to the MVC async thread that runs a {@code Callable} or
+ * {@code StreamingResponseBody}, so the statements of streamed responses are counted with their request.
+ */
+@Component
+public class QueryStatsAsyncSupport implements WebMvcConfigurer, CallableProcessingInterceptor {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(this);
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object stats = request.getAttribute(QueryStats.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (stats instanceof QueryStats queryStats) {
+            QueryStats.bind(queryStats);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        QueryStats.clear();
+    }
+}
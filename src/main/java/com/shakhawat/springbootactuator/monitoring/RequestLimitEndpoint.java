@@ -0,0 +1,61 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import com.shakhawat.springbootactuator.web.RequestLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shows the request limits with the current adaptive concurrency limit and rejection counts. A POST changes any of
+ * the limits; omitted fields keep their value.
+ */
+@Component
+@Endpoint(id = "request-limits")
+@RequiredArgsConstructor
+public class RequestLimitEndpoint {
+
+    private final RequestLimiter requestLimiter;
+
+    @ReadOperation
+    public Map<String, Object> limits() {
+        Map<String, Object> limits = new LinkedHashMap<>();
+        limits.put("settings", requestLimiter.getSettings());
+        limits.put("concurrencyLimit", requestLimiter.getConcurrencyLimit().getLimit());
+        limits.put("inFlight", requestLimiter.getConcurrencyLimit().getInFlight());
+        limits.put("trackedPrincipals", requestLimiter.getTrackedPrincipals());
+        limits.put("rateLimited", requestLimiter.getRateLimited());
+        limits.put("concurrencyLimited", requestLimiter.getConcurrencyLimited());
+        limits.put("longRunningInFlight", requestLimiter.getLongRunningInFlight());
+        limits.put("longRunningLimited", requestLimiter.getLongRunningLimited());
+        return limits;
+    }
+
+    @WriteOperation
+    public Map<String, Object> update(@Nullable Boolean enabled, @Nullable Double requestsPerSecond,
+                                      @Nullable Integer burst, @Nullable Integer minConcurrency,
+                                      @Nullable Integer maxConcurrency, @Nullable Duration latencyThreshold,
+                                      @Nullable Integer longRunningConcurrency) {
+        RequestLimiter.Settings current = requestLimiter.getSettings();
+        try {
+            requestLimiter.update(new RequestLimiter.Settings(
+                    enabled != null ? enabled : current.enabled(),
+                    requestsPerSecond != null ? requestsPerSecond : current.requestsPerSecond(),
+                    burst != null ? burst : current.burst(),
+                    minConcurrency != null ? minConcurrency : current.minConcurrency(),
+                    maxConcurrency != null ? maxConcurrency : current.maxConcurrency(),
+                    latencyThreshold != null ? latencyThreshold : current.latencyThreshold(),
+                    longRunningConcurrency != null ? longRunningConcurrency : current.longRunningConcurrency()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+        return limits();
+    }
+}
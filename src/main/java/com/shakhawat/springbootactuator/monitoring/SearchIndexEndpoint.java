@@ -0,0 +1,30 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import com.shakhawat.springbootactuator.employee.EmployeeSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the size of the employee search index and how long it last took to build. A POST rebuilds it now.
+ */
+@Component
+@Endpoint(id = "search-index")
+@RequiredArgsConstructor
+public class SearchIndexEndpoint {
+
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    @ReadOperation
+    public EmployeeSearchIndex.Stats stats() {
+        return employeeSearchIndex.stats();
+    }
+
+    @WriteOperation
+    public EmployeeSearchIndex.Stats rebuild() {
+        employeeSearchIndex.rebuild();
+        return employeeSearchIndex.stats();
+    }
+}
@@ -0,0 +1,27 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Endpoint(id = "pinning")
+@RequiredArgsConstructor
+public class VirtualThreadPinningEndpoint {
+
+    private final VirtualThreadPinningMonitor monitor;
+
+    @ReadOperation
+    public Map<String, Object> pinning() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("thresholdMillis", monitor.getThreshold().toMillis());
+        details.put("pinnedCount", monitor.getPinnedCount());
+        details.put("totalPinnedMillis", monitor.getPinnedTimer().totalTime(TimeUnit.MILLISECONDS));
+        details.put("maxPinnedMillis", monitor.getPinnedTimer().max(TimeUnit.MILLISECONDS));
+        details.put("recentEvents", monitor.getRecentEvents());
+        return details;
+    }
+}
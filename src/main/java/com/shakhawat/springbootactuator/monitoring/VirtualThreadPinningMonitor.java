@@ -0,0 +1,132 @@
+package com.shakhawat.springbootactuator.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event, which the JVM emits when a virtual thread
+ * blocks while pinned to its carrier (inside a {@code synchronized} block or a native frame).
+ */
+@Log4j2
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_RECENT_EVENTS = 50;
+
+    private static final int MAX_FRAMES = 15;
+
+    private final String eventName;
+
+    private final Duration threshold;
+
+    private final Timer pinnedTimer;
+
+    private final Deque<PinnedEvent> recentEvents = new ArrayDeque<>();
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this(meterRegistry, threshold, PINNED_EVENT);
+    }
+
+    /**
+     * Listens to {@code eventName} instead of the pinning event. Tests use this with an event of their own, since a
+     * carrier thread cannot be pinned before Java 21.
+     */
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold, String eventName) {
+        this.eventName = eventName;
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(eventName).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(eventName, this::record);
+        recordingStream.startAsync();
+        log.info("Virtual thread pinning monitor started with threshold {}", threshold);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public long getPinnedCount() {
+        return pinnedTimer.count();
+    }
+
+    public Timer getPinnedTimer() {
+        return pinnedTimer;
+    }
+
+    public synchronized List<PinnedEvent> getRecentEvents() {
+        return List.copyOf(recentEvents);
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        PinnedEvent pinned = new PinnedEvent(event.getStartTime(), event.getDuration().toMillis(),
+                threadName(event.getThread()), frames(event.getStackTrace()));
+        synchronized (this) {
+            if (recentEvents.size() == MAX_RECENT_EVENTS) {
+                recentEvents.removeFirst();
+            }
+            recentEvents.addLast(pinned);
+        }
+    }
+
+    private static String threadName(RecordedThread thread) {
+        if (thread == null) {
+            return null;
+        }
+        String name = thread.getJavaName();
+        return name == null || name.isEmpty() ? "#" + thread.getJavaThreadId() : name;
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        return stackTrace.getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(VirtualThreadPinningMonitor::describe)
+                .toList();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    public record PinnedEvent(Instant startTime, long durationMillis, String thread, List<String> stackTrace) {
+    }
+}
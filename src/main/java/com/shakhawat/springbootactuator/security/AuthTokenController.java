@@ -0,0 +1,23 @@
+package com.shakhawat.springbootactuator.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "security.token.enabled", havingValue = "true")
+public class AuthTokenController {
+
+    static final String TOKEN_PATH = "/api/auth/token";
+
+    private final HmacTokenService tokenService;
+
+    @PostMapping(TOKEN_PATH)
+    public ResponseEntity<HmacTokenService.IssuedToken> issueToken(Authentication authentication) {
+        return ResponseEntity.ok(tokenService.issue(authentication));
+    }
+}
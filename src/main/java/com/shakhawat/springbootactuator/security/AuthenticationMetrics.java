@@ -0,0 +1,24 @@
+package com.shakhawat.springbootactuator.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records how long each request spent authenticating, tagged by scheme, credential cache result and outcome.
+ */
+final class AuthenticationMetrics {
+
+    static final String TIMER = "auth.authentication";
+
+    private AuthenticationMetrics() {
+    }
+
+    static void record(MeterRegistry meterRegistry, Timer.Sample sample, String method, String cache, boolean success) {
+        sample.stop(Timer.builder(TIMER)
+                .description("Time spent authenticating a request")
+                .tag("method", method)
+                .tag("cache", cache)
+                .tag("outcome", success ? "success" : "failure")
+                .register(meterRegistry));
+    }
+}
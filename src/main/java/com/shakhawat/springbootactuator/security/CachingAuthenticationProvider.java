@@ -0,0 +1,98 @@
+package com.shakhawat.springbootactuator.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Remembers successful username/password checks so repeat requests skip the password encoder. Entries are
+ * keyed on a SHA-256 of the credentials, never hold the password itself and expire after a fixed time.
+ * Failed attempts always go to the delegate.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    static final String CACHE_NAME = "authCredentials";
+
+    private final AuthenticationProvider delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, Authentication> cache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, MeterRegistry meterRegistry,
+                                         long maximumSize, Duration timeToLive) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (authentication.getCredentials() == null) {
+            return authenticate(authentication, sample, null);
+        }
+        String key = cacheKey(authentication.getName(), authentication.getCredentials().toString());
+        Authentication cached = cache.getIfPresent(key);
+        if (cached != null) {
+            UsernamePasswordAuthenticationToken result =
+                    UsernamePasswordAuthenticationToken.authenticated(cached.getPrincipal(), null, cached.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            AuthenticationMetrics.record(meterRegistry, sample, "basic", "hit", true);
+            return result;
+        }
+        return authenticate(authentication, sample, key);
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private Authentication authenticate(Authentication authentication, Timer.Sample sample, String key) {
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            if (key != null && result != null && result.isAuthenticated()) {
+                cache.put(key, UsernamePasswordAuthenticationToken.authenticated(result.getPrincipal(), null, result.getAuthorities()));
+            }
+            AuthenticationMetrics.record(meterRegistry, sample, "basic", "miss", result != null);
+            return result;
+        } catch (AuthenticationException ex) {
+            AuthenticationMetrics.record(meterRegistry, sample, "basic", "miss", false);
+            throw ex;
+        }
+    }
+
+    private static String cacheKey(String username, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(username.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
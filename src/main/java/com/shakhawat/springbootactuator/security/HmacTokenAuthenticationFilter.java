@@ -0,0 +1,59 @@
+package com.shakhawat.springbootactuator.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates {@code Authorization: Bearer} requests with an {@link HmacTokenService} token. Requests with an
+ * invalid or expired token continue unauthenticated and are rejected by the rest of the chain. The token
+ * endpoint itself is skipped so that tokens can only be issued for a username and password.
+ */
+@RequiredArgsConstructor
+public class HmacTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final HmacTokenService tokenService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().equals(request.getContextPath() + AuthTokenController.TOKEN_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Optional<Authentication> authentication = tokenService.verify(header.substring(BEARER_PREFIX.length()).trim());
+            authentication.ifPresent(result -> {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(result);
+                SecurityContextHolder.setContext(context);
+                securityContextRepository.saveContext(context, request, response);
+            });
+            AuthenticationMetrics.record(meterRegistry, sample, "token", "none", authentication.isPresent());
+        }
+        filterChain.doFilter(request, response);
+    }
+}
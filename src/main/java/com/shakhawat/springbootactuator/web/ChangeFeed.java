@@ -0,0 +1,391 @@
+package com.shakhawat.springbootactuator.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhawat.springbootactuator.exception.TooManySubscriptionsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent event stream of committed changes to one kind of resource. Each change is numbered from a sequence that
+ * only grows, and the last {@code replayCapacity} changes are kept in memory. Event IDs are the sequence number
+ * prefixed with a random epoch chosen when the feed is created ({@code <epoch>-<sequence>}), because the sequence
+ * starts again from 0 after a restart and differs between instances. A client that reconnects with
+ * {@code Last-Event-ID} receives the changes it missed. If those changes are no longer kept, or the ID carries
+ * another epoch, the client gets a {@code reset} event and must reload before following the feed again.
+ * <p>
+ * Changes are queued per subscriber and sent from a pool of {@code senderThreads} threads, so a slow client never
+ * holds up the transaction that published the change. A subscriber that falls {@code subscriberBuffer} changes behind
+ * is disconnected rather than buffered without limit; it can reconnect and resume from its last event. A client that
+ * stops reading holds a sender thread until its write fails, so each principal may open at most
+ * {@code maxSubscribersPerPrincipal} streams on the feed.
+ */
+@Log4j2
+public class ChangeFeed implements DisposableBean {
+
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    public static final String CREATED = "created";
+
+    public static final String UPDATED = "updated";
+
+    public static final String DELETED = "deleted";
+
+    public static final String RESET = "reset";
+
+    // Queued for an idle subscriber on every heartbeat, so proxies keep the connection open and dead clients are noticed
+    private static final Object HEARTBEAT = new Object();
+
+    private final String name;
+
+    private final Settings settings;
+
+    private final ObjectMapper objectMapper;
+
+    private final TaskScheduler taskScheduler;
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final ArrayDeque<Change> replay = new ArrayDeque<>();
+
+    private volatile long sequence;
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicLong subscriberIds = new AtomicLong();
+
+    private final ThreadPoolExecutor senders;
+
+    private final Counter published;
+
+    private final Counter slowDisconnects;
+
+    private final Counter rejected;
+
+    private final DistributionSummary lag;
+
+    public ChangeFeed(String name, Settings settings, ObjectMapper objectMapper, TaskScheduler taskScheduler,
+                      MeterRegistry meterRegistry) {
+        settings.validate();
+        this.name = name;
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.senders = new ThreadPoolExecutor(settings.senderThreads(), settings.senderThreads(), 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), senderThreads(name));
+        this.senders.allowCoreThreadTimeOut(true);
+        this.published = Counter.builder("change.feed.events")
+                .description("Changes published to the feed")
+                .tag("feed", name)
+                .register(meterRegistry);
+        this.slowDisconnects = Counter.builder("change.feed.disconnects")
+                .description("Subscribers disconnected for falling too far behind")
+                .tag("feed", name)
+                .tag("reason", "slow")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("change.feed.rejections")
+                .description("Subscriptions refused because the principal already had the most streams allowed")
+                .tag("feed", name)
+                .register(meterRegistry);
+        this.lag = DistributionSummary.builder("change.feed.lag")
+                .description("Changes published but not yet sent to the subscriber, measured at each send")
+                .baseUnit("events")
+                .tag("feed", name)
+                .register(meterRegistry);
+        Gauge.builder("change.feed.subscribers", subscribers, Map::size)
+                .description("Connected subscribers")
+                .tag("feed", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The event name for a change from {@code before} to {@code after}, either of which is null for a create or
+     * a delete.
+     */
+    public static String changeType(@Nullable Object before, @Nullable Object after) {
+        return before == null ? CREATED : after == null ? DELETED : UPDATED;
+    }
+
+    /**
+     * Numbers the change and queues it for every subscriber. Called after the change has been committed.
+     */
+    public void publish(String type, Object payload) {
+        String data;
+        try {
+            // Serialized once, not once per subscriber
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        synchronized (this) {
+            Change change = new Change(sequence + 1, type, data);
+            sequence = change.id();
+            replay.addLast(change);
+            if (replay.size() > settings.replayCapacity()) {
+                replay.removeFirst();
+            }
+            subscribers.values().forEach(subscriber -> subscriber.offer(change));
+        }
+        published.increment();
+    }
+
+    /**
+     * Opens a stream of the changes after {@code lastEventId}, or of the changes from now on if it is null.
+     *
+     * @throws TooManySubscriptionsException if the principal already has {@code maxSubscribersPerPrincipal} streams
+     */
+    public SseEmitter subscribe(String principal, @Nullable String lastEventId) {
+        SseEmitter emitter = new SseEmitter(settings.timeout().toMillis());
+        Subscriber subscriber = new Subscriber(subscriberIds.incrementAndGet(), principal, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscriber.close());
+        synchronized (this) {
+            // Counted under the lock that adds subscribers, so concurrent requests cannot both take the last stream
+            long open = subscribers.values().stream().filter(other -> other.principal.equals(principal)).count();
+            if (open >= settings.maxSubscribersPerPrincipal()) {
+                rejected.increment();
+                throw new TooManySubscriptionsException("At most " + settings.maxSubscribersPerPrincipal()
+                        + " streams of the " + name + " change feed per user");
+            }
+            subscriber.lastSentId = sequence;
+            if (lastEventId != null) {
+                Long after = parseEventId(lastEventId);
+                long oldest = replay.isEmpty() ? sequence + 1 : replay.getFirst().id();
+                if (after == null || after > sequence || after < oldest - 1) {
+                    subscriber.offer(new Reset(sequence));
+                } else {
+                    subscriber.lastSentId = after;
+                    replay.stream().filter(change -> change.id() > after).forEach(subscriber::offer);
+                }
+            }
+            subscribers.put(subscriber.id, subscriber);
+        }
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::heartbeat, settings.heartbeatInterval());
+    }
+
+    public void heartbeat() {
+        subscribers.values().forEach(subscriber -> {
+            if (subscriber.queued.get() == 0) {
+                subscriber.offer(HEARTBEAT);
+            }
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * The {@code id} sent with the change numbered {@code sequence}.
+     */
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    public synchronized int getReplayed() {
+        return replay.size();
+    }
+
+    public List<SubscriberState> getSubscribers() {
+        long current = sequence;
+        return subscribers.values().stream()
+                .sorted(Comparator.comparingLong(subscriber -> subscriber.id))
+                .map(subscriber -> new SubscriberState(subscriber.id, subscriber.principal, subscriber.connectedAt,
+                        eventId(subscriber.lastSentId), current - subscriber.lastSentId))
+                .toList();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * The sequence number in an event ID of this feed, or null for an ID of another epoch or one that is malformed.
+     */
+    @Nullable
+    private Long parseEventId(String lastEventId) {
+        String prefix = epoch + "-";
+        String id = lastEventId.trim();
+        if (!id.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.substring(prefix.length()));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static CustomizableThreadFactory senderThreads(String name) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("change-feed-" + name + "-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private final class Subscriber {
+
+        private final long id;
+
+        private final String principal;
+
+        private final SseEmitter emitter;
+
+        private final Instant connectedAt = Instant.now();
+
+        private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger queued = new AtomicInteger();
+
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private volatile long lastSentId;
+
+        private volatile boolean closed;
+
+        private Subscriber(long id, String principal, SseEmitter emitter) {
+            this.id = id;
+            this.principal = principal;
+            this.emitter = emitter;
+        }
+
+        void offer(Object item) {
+            if (closed) {
+                return;
+            }
+            if (item != HEARTBEAT && queued.get() >= settings.subscriberBuffer()) {
+                log.info("Disconnecting {} from the {} change feed: {} changes behind", principal, name, queued.get());
+                slowDisconnects.increment();
+                close();
+                // Completing waits for a send in progress, which a stalled client can block; publishers must not wait
+                senders.execute(emitter::complete);
+                return;
+            }
+            queued.incrementAndGet();
+            queue.add(item);
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                Object item;
+                while (!closed && (item = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    if (item instanceof Change change) {
+                        lag.record(sequence - change.id());
+                        emitter.send(SseEmitter.event().id(eventId(change.id())).name(change.type()).data(change.data()));
+                        lastSentId = change.id();
+                    } else if (item instanceof Reset reset) {
+                        // Carries an ID so that a client reconnecting before the next change is not reset again
+                        String id = eventId(reset.sequence());
+                        emitter.send(SseEmitter.event().id(id).name(RESET).data(id));
+                    } else {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away; the container completes the emitter
+                close();
+            } finally {
+                sending.set(false);
+            }
+            // An item queued after the loop ended but before the flag was cleared would otherwise wait for the next one
+            if (!closed && !queue.isEmpty() && sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(id);
+        }
+    }
+
+    public record Change(long id, String type, String data) {
+    }
+
+    public record SubscriberState(long id, String principal, Instant connectedAt, String lastEventId, long lag) {
+    }
+
+    /**
+     * Queued for a subscriber whose {@code Last-Event-ID} cannot be resumed from; it follows the feed from
+     * {@code sequence}.
+     */
+    private record Reset(long sequence) {
+    }
+
+    /**
+     * @param replayCapacity    changes kept for clients resuming with {@code Last-Event-ID}
+     * @param subscriberBuffer  changes a subscriber may fall behind before it is disconnected
+     * @param timeout           how long a connection stays open before the client has to reconnect
+     * @param heartbeatInterval how often an idle connection gets a comment line
+     * @param senderThreads     threads writing to the subscribers of one feed
+     * @param maxSubscribersPerPrincipal streams one principal may have open on one feed
+     */
+    public record Settings(int replayCapacity, int subscriberBuffer, Duration timeout, Duration heartbeatInterval,
+                           int senderThreads, int maxSubscribersPerPrincipal) {
+
+        void validate() {
+            if (replayCapacity < 1) {
+                throw new IllegalArgumentException("change-feed.replay-capacity must be at least 1");
+            }
+            // A full replay must fit, or a client resuming after a long gap would be disconnected straight away
+            if (subscriberBuffer < replayCapacity) {
+                throw new IllegalArgumentException("change-feed.subscriber-buffer (" + subscriberBuffer
+                        + ") must be at least change-feed.replay-capacity (" + replayCapacity + ")");
+            }
+            if (senderThreads < 1) {
+                throw new IllegalArgumentException("change-feed.sender-threads must be at least 1");
+            }
+            if (maxSubscribersPerPrincipal < 1) {
+                throw new IllegalArgumentException("change-feed.max-subscribers-per-principal must be at least 1");
+            }
+        }
+    }
+}
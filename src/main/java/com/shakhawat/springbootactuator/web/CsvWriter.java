@@ -0,0 +1,181 @@
+package com.shakhawat.springbootactuator.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes RFC 4180 CSV as UTF-8 straight into a fixed byte buffer that is flushed to the stream whenever it fills,
+ * so memory use does not depend on the number of rows. Fields containing a comma, quote or line break are quoted.
+ * The output starts with a byte order mark, which spreadsheet applications need to read UTF-8 correctly.
+ * <p>
+ * A text field starting with {@code = + - @}, a tab or a carriage return is prefixed with {@code '}, so that a
+ * spreadsheet shows it as text instead of evaluating it as a formula. Numbers are written as they are.
+ */
+public class CsvWriter {
+
+    private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    // Room for the longest long, so numbers never straddle a drain
+    private static final int MIN_BUFFER_SIZE = 32;
+
+    private final OutputStream outputStream;
+
+    private final byte[] buffer;
+
+    private int position;
+
+    private boolean rowStarted;
+
+    public CsvWriter(OutputStream outputStream, int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_BUFFER_SIZE + " bytes");
+        }
+        this.outputStream = outputStream;
+        this.buffer = new byte[bufferSize];
+        for (byte b : BYTE_ORDER_MARK) {
+            buffer[position++] = b;
+        }
+    }
+
+    public CsvWriter row(String... fields) throws IOException {
+        for (String field : fields) {
+            field(field);
+        }
+        return endRow();
+    }
+
+    public CsvWriter field(String value) throws IOException {
+        separate();
+        if (value == null) {
+            return this;
+        }
+        boolean quoted = needsQuotes(value);
+        if (quoted) {
+            put('"');
+        }
+        if (startsFormula(value)) {
+            put('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                put('"');
+                put('"');
+            } else if (c < 0x80) {
+                put(c);
+            } else {
+                i = encode(value, i);
+            }
+        }
+        if (quoted) {
+            put('"');
+        }
+        return this;
+    }
+
+    public CsvWriter field(long value) throws IOException {
+        separate();
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+        }
+        // Digits are produced in reverse, then swapped into place; no String is created
+        long remaining = value;
+        int start = position;
+        do {
+            buffer[position++] = (byte) ('0' + Math.abs(remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0);
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            byte digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+        return this;
+    }
+
+    public CsvWriter endRow() throws IOException {
+        put('\r');
+        put('\n');
+        rowStarted = false;
+        return this;
+    }
+
+    /**
+     * Writes out the buffered bytes without flushing the underlying stream.
+     */
+    public void drain() throws IOException {
+        outputStream.write(buffer, 0, position);
+        position = 0;
+    }
+
+    public void flush() throws IOException {
+        drain();
+        outputStream.flush();
+    }
+
+    private void separate() throws IOException {
+        if (rowStarted) {
+            put(',');
+        }
+        rowStarted = true;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    /**
+     * Encodes the non-ASCII character at {@code index}, and the low surrogate after it if there is one, and returns
+     * the index of the last character consumed.
+     */
+    private int encode(String value, int index) throws IOException {
+        int codePoint = value.codePointAt(index);
+        ensure(4);
+        if (codePoint < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (codePoint >> 6));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            // A lone surrogate cannot be encoded and is replaced, as String.getBytes would
+            if (Character.isSurrogate((char) codePoint)) {
+                buffer[position++] = '?';
+                return index;
+            }
+            buffer[position++] = (byte) (0xE0 | (codePoint >> 12));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            return index + 1;
+        }
+        return index;
+    }
+
+    private void put(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            drain();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.shakhawat.springbootactuator.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shakhawat.springbootactuator.exception.IdempotencyKeyReusedException;
+import com.shakhawat.springbootactuator.exception.ResourceConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response to each {@code Idempotency-Key} so that a retried POST replays it instead of writing
+ * again. Keys are scoped to the caller and operation and expire after a fixed time. A key reused with a
+ * different payload is rejected with 422, and a retry that arrives while the first attempt is still running
+ * gets 409. Failed attempts are forgotten so that they can be retried.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${idempotency.maximum-size:10000}") long maximumSize,
+                            @Value("${idempotency.time-to-live:24h}") Duration timeToLive) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotencyKeys");
+    }
+
+    public ResponseEntity<?> execute(String key, String operation, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(IDEMPOTENCY_KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = caller() + " " + operation + " " + key;
+        Entry entry = new Entry(request);
+        Entry existing = entries.asMap().putIfAbsent(scopedKey, entry);
+        if (existing != null) {
+            return replay(existing, request, key);
+        }
+        try {
+            ResponseEntity<?> response = action.get();
+            entry.response = response;
+            return response;
+        } catch (RuntimeException ex) {
+            entries.asMap().remove(scopedKey, entry);
+            throw ex;
+        }
+    }
+
+    private static ResponseEntity<?> replay(Entry existing, Object request, String key) {
+        if (!existing.request.equals(request)) {
+            throw new IdempotencyKeyReusedException(IDEMPOTENCY_KEY_HEADER + " " + key + " was already used for a different request");
+        }
+        ResponseEntity<?> response = existing.response;
+        if (response == null) {
+            throw new ResourceConflictException("A request with " + IDEMPOTENCY_KEY_HEADER + " " + key + " is still in progress");
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    private static final class Entry {
+
+        private final Object request;
+
+        private volatile ResponseEntity<?> response;
+
+        private Entry(Object request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.shakhawat.springbootactuator.web;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds API load before it reaches the connection pool. Runs right after the security filter chain, so requests
+ * are limited per authenticated principal: 429 once the principal's token bucket is empty, and 503 when the
+ * expensive or the long-running routes are at their concurrency limit. Both carry {@code Retry-After}. Actuator
+ * paths are never limited, so the limits can still be changed while the service is overloaded.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@RequiredArgsConstructor
+public class RequestLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/";
+
+    private final RequestLimiter requestLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith(API_PATH) || !requestLimiter.getSettings().enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Principal principal = request.getUserPrincipal();
+        long wait = requestLimiter.tryAcquireRate(principal != null ? principal.getName() : request.getRemoteAddr());
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(wait) + 1,
+                    "Rate limit exceeded");
+            return;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        Runnable releaseSlot;
+        if (requestLimiter.isLongRunning(request.getMethod(), path(request), accept)) {
+            if (!requestLimiter.tryAcquireLongRunning()) {
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Too many concurrent long-running requests");
+                return;
+            }
+            releaseSlot = requestLimiter::releaseLongRunning;
+        } else if (requestLimiter.isExpensive(request.getMethod(), path(request), accept)) {
+            if (!requestLimiter.tryAcquireConcurrency()) {
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Too many concurrent requests");
+                return;
+            }
+            long started = System.nanoTime();
+            releaseSlot = () -> requestLimiter.releaseConcurrency(System.nanoTime() - started);
+        } else {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                releaseSlot.run();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streamed responses hold their slot until the async request completes
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private record ReleasingListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.shakhawat.springbootactuator.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the request limits applied by {@link RequestLimitFilter}: a token bucket per principal for every API request,
+ * an {@link AdaptiveConcurrencyLimit} shared by the expensive routes, and a fixed cap on the long-running routes.
+ * The limits can be changed at runtime through the {@code request-limits} actuator endpoint.
+ * <p>
+ * A route is a path pattern, optionally preceded by an HTTP method ({@code GET /api/employees}) and followed by a
+ * media type the request must list in {@code Accept} ({@code GET /api/employees application/x-ndjson}). Without a
+ * method it matches every method. Long-running routes are checked first, so a stream can share its path with a
+ * paged read. Their duration follows the amount of data rather than the load, so they are kept out of the latency
+ * samples that drive the adaptive limit.
+ */
+@Component
+public class RequestLimiter {
+
+    public static final String REJECTED_METRIC = "http.server.requests.rejected";
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final List<Route> expensiveRoutes;
+
+    private final List<Route> longRunningRoutes;
+
+    private final AtomicInteger longRunningInFlight = new AtomicInteger();
+
+    private final Counter rateLimited;
+
+    private final Counter concurrencyLimited;
+
+    private final Counter longRunningLimited;
+
+    private volatile Settings settings;
+
+    public RequestLimiter(MeterRegistry meterRegistry,
+                          @Value("${request-limits.enabled:true}") boolean enabled,
+                          @Value("${request-limits.requests-per-second:50}") double requestsPerSecond,
+                          @Value("${request-limits.burst:100}") int burst,
+                          @Value("${request-limits.concurrency.min-limit:4}") int minConcurrency,
+                          @Value("${request-limits.concurrency.max-limit:100}") int maxConcurrency,
+                          @Value("${request-limits.concurrency.latency-threshold:1s}") Duration latencyThreshold,
+                          @Value("${request-limits.concurrency.routes:GET /api/employees,GET /api/employees/search}") String[] expensiveRoutes,
+                          @Value("${request-limits.long-running.max-concurrency:8}") int longRunningConcurrency,
+                          @Value("${request-limits.long-running.routes:GET /api/employees application/x-ndjson,GET /api/employees/export,POST /api/employees/bulk}") String[] longRunningRoutes) {
+        this.settings = new Settings(enabled, requestsPerSecond, burst, minConcurrency, maxConcurrency, latencyThreshold,
+                longRunningConcurrency);
+        this.settings.validate();
+        // Idle principals are dropped once their bucket would have refilled anyway
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(maxConcurrency, minConcurrency, maxConcurrency, latencyThreshold);
+        this.expensiveRoutes = routes(expensiveRoutes);
+        this.longRunningRoutes = routes(longRunningRoutes);
+        this.rateLimited = rejections(meterRegistry, "rate-limit");
+        this.concurrencyLimited = rejections(meterRegistry, "concurrency");
+        this.longRunningLimited = rejections(meterRegistry, "long-running");
+        Gauge.builder("http.server.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit for expensive routes")
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests in flight on expensive routes")
+                .register(meterRegistry);
+        Gauge.builder("http.server.long-running.in-flight", longRunningInFlight, AtomicInteger::get)
+                .description("Requests in flight on long-running routes")
+                .register(meterRegistry);
+    }
+
+    private static List<Route> routes(String[] routes) {
+        return Arrays.stream(routes)
+                .map(String::trim)
+                .filter(route -> !route.isEmpty())
+                .map(Route::parse)
+                .toList();
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(REJECTED_METRIC)
+                .description("Requests shed by the request limiter")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    public synchronized Settings update(Settings updated) {
+        updated.validate();
+        concurrencyLimit.configure(updated.minConcurrency(), updated.maxConcurrency(), updated.latencyThreshold());
+        settings = updated;
+        return updated;
+    }
+
+    /**
+     * @return 0 when the principal may proceed, otherwise the nanoseconds until its next token
+     */
+    public long tryAcquireRate(String principal) {
+        Settings current = settings;
+        long now = System.nanoTime();
+        long wait = buckets.get(principal, key -> new TokenBucket(current.burst(), now))
+                .tryAcquire(now, current.requestsPerSecond(), current.burst());
+        if (wait > 0) {
+            rateLimited.increment();
+        }
+        return wait;
+    }
+
+    public boolean isExpensive(String method, String path, @Nullable String accept) {
+        return matches(expensiveRoutes, method, path, accept);
+    }
+
+    public boolean isLongRunning(String method, String path, @Nullable String accept) {
+        return matches(longRunningRoutes, method, path, accept);
+    }
+
+    private static boolean matches(List<Route> routes, String method, String path, @Nullable String accept) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (Route route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(method)) && route.pattern().matches(container)
+                    && (route.mediaType() == null || accepts(accept, route.mediaType()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Only an explicit listing counts: a wildcard {@code Accept} gets the default representation. */
+    private static boolean accepts(@Nullable String accept, MediaType mediaType) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(mediaType::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+
+    public boolean tryAcquireConcurrency() {
+        boolean acquired = concurrencyLimit.tryAcquire();
+        if (!acquired) {
+            concurrencyLimited.increment();
+        }
+        return acquired;
+    }
+
+    public void releaseConcurrency(long latencyNanos) {
+        concurrencyLimit.release(latencyNanos);
+    }
+
+    public boolean tryAcquireLongRunning() {
+        int limit = settings.longRunningConcurrency();
+        int current;
+        do {
+            current = longRunningInFlight.get();
+            if (current >= limit) {
+                longRunningLimited.increment();
+                return false;
+            }
+        } while (!longRunningInFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void releaseLongRunning() {
+        longRunningInFlight.decrementAndGet();
+    }
+
+    public int getLongRunningInFlight() {
+        return longRunningInFlight.get();
+    }
+
+    public AdaptiveConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public long getTrackedPrincipals() {
+        return buckets.estimatedSize();
+    }
+
+    public long getRateLimited() {
+        return (long) rateLimited.count();
+    }
+
+    public long getConcurrencyLimited() {
+        return (long) concurrencyLimited.count();
+    }
+
+    public long getLongRunningLimited() {
+        return (long) longRunningLimited.count();
+    }
+
+    private record Route(@Nullable String method, PathPattern pattern, @Nullable MediaType mediaType) {
+
+        private static Route parse(String route) {
+            String[] parts = route.split("\\s+");
+            int path = parts[0].startsWith("/") ? 0 : 1;
+            if (path >= parts.length || parts.length > path + 2) {
+                throw new IllegalArgumentException("Route must be \"[METHOD ]pattern[ media type]\": " + route);
+            }
+            return new Route(path == 1 ? parts[0].toUpperCase(Locale.ROOT) : null,
+                    PathPatternParser.defaultInstance.parse(parts[path]),
+                    parts.length == path + 2 ? MediaType.parseMediaType(parts[path + 1]) : null);
+        }
+    }
+
+    public record Settings(boolean enabled, double requestsPerSecond, int burst, int minConcurrency,
+                           int maxConcurrency, Duration latencyThreshold, int longRunningConcurrency) {
+
+        void validate() {
+            if (requestsPerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("requestsPerSecond must be positive and burst at least 1");
+            }
+            if (minConcurrency < 1 || maxConcurrency < minConcurrency) {
+                throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= minConcurrency <= maxConcurrency");
+            }
+            if (latencyThreshold == null || latencyThreshold.isNegative() || latencyThreshold.isZero()) {
+                throw new IllegalArgumentException("latencyThreshold must be positive");
+            }
+            if (longRunningConcurrency < 1) {
+                throw new IllegalArgumentException("longRunningConcurrency must be at least 1");
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.shakhawat.springbootactuator.web;
+
+import java.time.Instant;
+
+/**
+ * Validator for a resource or collection, read without loading the resource itself: the row version and
+ * modification time of a single entity, or the row count and latest modification time of a table.
+ */
+public record ResourceVersion(Long value, Instant lastModified) {
+
+    public String eTag() {
+        return "\"" + (value == null ? 0 : value) + "-" + (lastModified == null ? 0 : lastModified.toEpochMilli()) + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header with the strong comparison RFC 9110 requires; weak tags never match.
+     */
+    public boolean matches(String ifMatch) {
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*") || candidate.equals(eTag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package com.shakhawat.springbootactuator.web;
+
+/**
+ * A token bucket refilled continuously at a fixed rate. The rate and capacity are passed on every call so that
+ * a change to the limits applies to existing buckets immediately.
+ */
+public final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    public TokenBucket(int capacity, long nowNanos) {
+        this.tokens = capacity;
+        this.refilledAt = nowNanos;
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next one is available
+     */
+    public synchronized long tryAcquire(long nowNanos, double permitsPerSecond, int capacity) {
+        tokens = Math.min(capacity, tokens + (nowNanos - refilledAt) * permitsPerSecond / NANOS_PER_SECOND);
+        refilledAt = nowNanos;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) * NANOS_PER_SECOND / permitsPerSecond));
+    }
+}
@@ -0,0 +1,71 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Gives databases created by ddl-auto=update the constraint names of V1. Hibernate generated the name of the
+ * department foreign key and added an unnamed unique constraint for {@code code}; the error translation in
+ * {@code EmployeeService} and {@code DepartmentService} looks for {@code employees_department_fk} and
+ * {@code employees_code_unique}. V1 found their tables already there and left them as they were.
+ * On a schema created by V1 this finds nothing to change.
+ */
+public class V3__Name_employee_constraints extends BaseJavaMigration {
+
+    private static final String CONSTRAINTS_ON_COLUMN = """
+            select tc.constraint_name
+            from information_schema.table_constraints tc
+            join information_schema.key_column_usage kcu
+              on kcu.constraint_schema = tc.constraint_schema
+             and kcu.constraint_name = tc.constraint_name
+             and kcu.table_name = tc.table_name
+            where tc.table_schema = ? and lower(tc.table_name) = 'employees' and tc.constraint_type = ?
+            group by tc.constraint_name
+            having count(*) = 1 and max(lower(kcu.column_name)) = ?
+            """;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        String schema = schema(connection);
+
+        rename(jdbcTemplate, schema, "FOREIGN KEY", "department_id", "employees_department_fk",
+                mysql ? "drop foreign key " : "drop constraint ",
+                "foreign key (department_id) references departments (id)");
+        rename(jdbcTemplate, schema, "UNIQUE", "code", "employees_code_unique",
+                mysql ? "drop index " : "drop constraint ",
+                "unique (code)");
+    }
+
+    /**
+     * Drops every constraint of the given type on the column that is not named {@code name}, and adds {@code name}
+     * when it is missing. A unique constraint added by ddl-auto=update next to {@code employees_code_unique} is
+     * an index MySQL maintains on every write, so it goes as well.
+     */
+    private static void rename(JdbcTemplate jdbcTemplate, String schema, String type, String column, String name,
+                               String drop, String definition) {
+        List<String> existing = jdbcTemplate.queryForList(CONSTRAINTS_ON_COLUMN, String.class, schema, type, column);
+        for (String constraint : existing) {
+            if (!constraint.equalsIgnoreCase(name)) {
+                jdbcTemplate.execute("alter table employees " + drop + constraint);
+            }
+        }
+        if (existing.stream().noneMatch(name::equalsIgnoreCase)) {
+            jdbcTemplate.execute("alter table employees add constraint " + name + " " + definition);
+        }
+    }
+
+    /** MySQL reports the database as the catalog, other databases as the schema. */
+    private static String schema(Connection connection) throws SQLException {
+        String schema = connection.getSchema();
+        return schema != null ? schema : connection.getCatalog();
+    }
+}
@@ -0,0 +1,26 @@
+-- The schema ddl-auto=update maintained before Flyway took over. Existing databases are baselined at version 0
+-- (spring.flyway.baseline-on-migrate), so this script runs against them as well and leaves their tables alone;
+-- V3__Name_employee_constraints renames the constraints Hibernate generated for them, V4 adds what the mappings
+-- have gained since.
+
+create table if not exists departments (
+    id bigint not null auto_increment,
+    short_name varchar(255) not null,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table if not exists employees (
+    id bigint not null auto_increment,
+    code varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    full_name varchar(255),
+    age integer not null,
+    gender varchar(255) not null,
+    address varchar(255),
+    department_id bigint not null,
+    primary key (id),
+    constraint employees_code_unique unique (code),
+    constraint employees_department_fk foreign key (department_id) references departments (id)
+) engine=InnoDB;
@@ -0,0 +1,8 @@
+-- Single-row heartbeat written to the primary and read back from each read replica to measure replication lag
+-- (see datasource.replicas.* in application.properties). Unused while no replicas are configured.
+
+create table replica_heartbeat (
+    id integer not null,
+    beat_at bigint not null,
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,26 @@
+-- Optimistic locking and change timestamps for both entities, the employee filter and sort indexes, and the audit
+-- trail table. Existing rows start at version 0.
+
+alter table departments add column version bigint default 0 not null;
+alter table departments add column updated_at datetime(6);
+
+alter table employees add column version bigint default 0 not null;
+alter table employees add column updated_at datetime(6);
+
+create index employees_department_age_idx on employees (department_id, age);
+create index employees_gender_age_idx on employees (gender, age);
+create index employees_age_idx on employees (age);
+create index employees_name_idx on employees (last_name, first_name);
+
+create table audit_events (
+    id bigint not null auto_increment,
+    occurred_at datetime(6) not null,
+    actor varchar(255),
+    action enum ('CREATE', 'DELETE', 'UPDATE') not null,
+    entity_type varchar(255) not null,
+    entity_id bigint,
+    business_key varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create index audit_events_entity_idx on audit_events (entity_type, entity_id);
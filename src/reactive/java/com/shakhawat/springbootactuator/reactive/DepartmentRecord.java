@@ -0,0 +1,13 @@
+package com.shakhawat.springbootactuator.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code departments} table. Reads are projected straight into {@code DepartmentDTO}.
+ */
+@Table("departments")
+public record DepartmentRecord(@Id Long id, String shortName, String name, long version, LocalDateTime updatedAt) {
+}
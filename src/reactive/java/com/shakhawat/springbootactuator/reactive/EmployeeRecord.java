@@ -0,0 +1,15 @@
+package com.shakhawat.springbootactuator.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code employees} table. Reads are projected straight into {@code EmployeeDTO}.
+ */
+@Table("employees")
+public record EmployeeRecord(@Id Long id, String code, String firstName, String lastName, String fullName, int age,
+                             String gender, String address, Long departmentId, long version,
+                             LocalDateTime updatedAt) {
+}
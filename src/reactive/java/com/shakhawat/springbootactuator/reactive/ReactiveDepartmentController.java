@@ -0,0 +1,34 @@
+package com.shakhawat.springbootactuator.reactive;
+
+import com.shakhawat.springbootactuator.department.DepartmentDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/departments")
+@RequiredArgsConstructor
+public class ReactiveDepartmentController {
+
+    private static final ResponseEntity<Object> NOT_FOUND = ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body("Department not found");
+
+    private final ReactiveReadService readService;
+
+    @GetMapping
+    public Flux<DepartmentDTO> getAllDepartments() {
+        return readService.getAllDepartments();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getDepartmentById(@PathVariable long id) {
+        return readService.getDepartmentById(id)
+                .map(department -> ResponseEntity.ok().<Object>body(department))
+                .defaultIfEmpty(NOT_FOUND);
+    }
+}
@@ -0,0 +1,16 @@
+package com.shakhawat.springbootactuator.reactive;
+
+import com.shakhawat.springbootactuator.department.DepartmentDTO;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveDepartmentRepository extends ReactiveCrudRepository<DepartmentRecord, Long> {
+
+    @Query("select id, short_name, name from departments where id = :id")
+    Mono<DepartmentDTO> findProjectedById(long id);
+
+    @Query("select id, short_name, name from departments order by id")
+    Flux<DepartmentDTO> findAllProjectedBy();
+}
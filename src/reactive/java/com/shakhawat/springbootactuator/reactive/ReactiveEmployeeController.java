@@ -0,0 +1,58 @@
+package com.shakhawat.springbootactuator.reactive;
+
+import com.shakhawat.springbootactuator.employee.EmployeeController;
+import com.shakhawat.springbootactuator.employee.EmployeeCursor;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/employees")
+@RequiredArgsConstructor
+public class ReactiveEmployeeController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final ResponseEntity<Object> NOT_FOUND = ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body("Employee not found");
+
+    private final ReactiveReadService readService;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<EmployeeDTO>>> getEmployeePage(@RequestParam(required = false) String after,
+                                                                   @RequestParam(defaultValue = "100") int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether another page exists, as in the servlet controller
+        return readService.getEmployeePage(EmployeeCursor.decode(after), size + 1)
+                .collectList()
+                .map(employees -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (employees.size() > size) {
+                        employees = employees.subList(0, size);
+                        response.header(EmployeeController.NEXT_CURSOR_HEADER,
+                                EmployeeCursor.encode(employees.get(size - 1).getId()));
+                    }
+                    return response.body(employees);
+                });
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EmployeeDTO> streamAllEmployees() {
+        return readService.streamAllEmployees();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getEmployeeById(@PathVariable long id) {
+        return readService.getEmployeeById(id)
+                .map(employee -> ResponseEntity.ok().<Object>body(employee))
+                .defaultIfEmpty(NOT_FOUND);
+    }
+}
@@ -0,0 +1,18 @@
+package com.shakhawat.springbootactuator.reactive;
+
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeRepository extends ReactiveCrudRepository<EmployeeRecord, Long> {
+
+    @Query("select id, code, first_name, last_name, full_name, age, gender, address, department_id "
+            + "from employees where id = :id")
+    Mono<EmployeeDTO> findProjectedById(long id);
+
+    @Query("select id, code, first_name, last_name, full_name, age, gender, address, department_id "
+            + "from employees where id > :after order by id limit :limit")
+    Flux<EmployeeDTO> findProjectedByIdGreaterThan(long after, int limit);
+}
@@ -0,0 +1,33 @@
+package com.shakhawat.springbootactuator.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Non-blocking read endpoints for employees and departments, served by WebFlux over R2DBC against the same tables
+ * as the servlet application. Only this package is scanned; the servlet controllers, JPA repositories and filters
+ * are not part of this context. Built with the {@code reactive} Maven profile and run with the {@code reactive}
+ * Spring profile.
+ */
+@SpringBootApplication
+public class ReactiveReadApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveReadApplication.class);
+        application.setAdditionalProfiles(PROFILE);
+        application.run(args);
+    }
+
+    /**
+     * Tomcat is on the classpath for the servlet application and would otherwise be picked for this server as well.
+     */
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.shakhawat.springbootactuator.reactive;
+
+import com.shakhawat.springbootactuator.department.DepartmentDTO;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reads for the reactive endpoints. The full employee stream is fetched as keyset pages, and the next page is only
+ * queried once the client has consumed the previous one. A slow client therefore holds neither a database
+ * connection nor a thread, only the page it has not read yet.
+ */
+@Service
+public class ReactiveReadService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    private final ReactiveDepartmentRepository departmentRepository;
+
+    private final int pageSize;
+
+    public ReactiveReadService(ReactiveEmployeeRepository employeeRepository,
+                               ReactiveDepartmentRepository departmentRepository,
+                               @Value("${reactive.employees.page-size:100}") int pageSize) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.pageSize = pageSize;
+    }
+
+    public Mono<EmployeeDTO> getEmployeeById(long id) {
+        return employeeRepository.findProjectedById(id);
+    }
+
+    public Flux<EmployeeDTO> getEmployeePage(long after, int limit) {
+        return employeeRepository.findProjectedByIdGreaterThan(after, limit);
+    }
+
+    public Flux<EmployeeDTO> streamAllEmployees() {
+        return streamFrom(0L);
+    }
+
+    private Flux<EmployeeDTO> streamFrom(long after) {
+        // The next page is only subscribed to, and so only takes a pooled connection, once this one has been written
+        return fetchPage(after).flatMapMany(page -> page.size() < pageSize ? Flux.fromIterable(page)
+                : Flux.concat(Flux.fromIterable(page), Flux.defer(() -> streamFrom(page.get(page.size() - 1).getId()))));
+    }
+
+    private Mono<List<EmployeeDTO>> fetchPage(long after) {
+        return employeeRepository.findProjectedByIdGreaterThan(after, pageSize).collectList();
+    }
+
+    public Flux<DepartmentDTO> getAllDepartments() {
+        return departmentRepository.findAllProjectedBy();
+    }
+
+    public Mono<DepartmentDTO> getDepartmentById(long id) {
+        return departmentRepository.findProjectedById(id);
+    }
+}
@@ -0,0 +1,52 @@
+package com.shakhawat.springbootactuator.reactive;
+
+import com.shakhawat.springbootactuator.config.SecurityConfig;
+import com.shakhawat.springbootactuator.security.CachingAuthenticationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManagerAdapter;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import java.time.Duration;
+
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager authenticationManager) {
+        return http
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/mgt-details/**").hasRole("ADMIN")
+                        .anyExchange().authenticated())
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .httpBasic(basic -> basic.authenticationManager(authenticationManager))
+                .build();
+    }
+
+    /**
+     * Same accounts and credential cache as the servlet application. The adapter authenticates on the
+     * bounded-elastic scheduler, so a bcrypt check on a cache miss never blocks the event loop.
+     */
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(MeterRegistry meterRegistry,
+                                                                       @Value("${security.credential-cache.maximum-size:10000}") long maximumSize,
+                                                                       @Value("${security.credential-cache.time-to-live:5m}") Duration timeToLive) {
+        DaoAuthenticationProvider delegate = new DaoAuthenticationProvider(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        delegate.setUserDetailsService(new InMemoryUserDetailsManager(SecurityConfig.userAccounts()));
+        return new ReactiveAuthenticationManagerAdapter(new ProviderManager(
+                new CachingAuthenticationProvider(delegate, meterRegistry, maximumSize, timeToLive)));
+    }
+}
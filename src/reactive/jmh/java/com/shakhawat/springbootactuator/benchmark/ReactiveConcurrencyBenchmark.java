@@ -0,0 +1,197 @@
+package com.shakhawat.springbootactuator.benchmark;
+
+import com.shakhawat.springbootactuator.SpringBootActuatorApplication;
+import com.shakhawat.springbootactuator.reactive.ReactiveReadApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Opens {@code connections} clients against the NDJSON employee stream of either stack and never reads past the
+ * first bytes, so every stream stalls on backpressure once the socket buffers are full. The score is the time until
+ * every client is being served (capped at {@link #SERVE_TIMEOUT_MILLIS}); the counters report how many were, the
+ * database connections and live threads held while they are stalled, and the heap held per connection. The servlet
+ * stack keeps an executor thread and a JDBC connection per stalled stream, and only gets to the queued clients once
+ * Tomcat's async timeout (30 seconds by default) aborts the stalled ones; the reactive stack keeps only buffers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class ReactiveConcurrencyBenchmark {
+
+    private static final String DATABASE = "concurrency";
+
+    private static final int EMPLOYEES = 20_000;
+
+    private static final long SERVE_TIMEOUT_MILLIS = 60_000;
+
+    /**
+     * Spacing between connects, so that neither server's accept backlog overflows and clients are not left in TCP
+     * retransmission backoff.
+     */
+    private static final long CONNECT_INTERVAL_MILLIS = 5;
+
+    private static final String ADMIN = "Basic " + Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+
+    @Param({"servlet", "reactive"})
+    private String stack;
+
+    @Param({"500"})
+    private int connections;
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    private final List<Socket> sockets = new ArrayList<>();
+
+    private int port;
+
+    private IntSupplier heldDatabaseConnections;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        // The servlet application owns the schema, so it is started for both stacks and seeds the shared database
+        ConfigurableApplicationContext servlet = new SpringApplicationBuilder(SpringBootActuatorApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + DATABASE + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--audit.enabled=false",
+                "--request-limits.enabled=false",
+                "--logging.level.root=WARN");
+        contexts.add(servlet);
+        JdbcTemplate jdbcTemplate = servlet.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into departments (short_name, name, version) values ('IT', 'Information Technology', 0)");
+        jdbcTemplate.update("insert into employees (code, first_name, last_name, full_name, age, gender, address, department_id, version) "
+                + "select 'EMP' || x, 'First', 'Last' || x, 'First Last' || x, 30, 'Female', 'Somewhere', 1, 0 "
+                + "from system_range(1, " + EMPLOYEES + ")");
+        ConfigurableApplicationContext target = servlet;
+        if (stack.equals("reactive")) {
+            target = new SpringApplicationBuilder(ReactiveReadApplication.class).profiles(ReactiveReadApplication.PROFILE).run(
+                    "--server.port=0",
+                    "--spring.r2dbc.url=r2dbc:h2:mem:///" + DATABASE + "?options=DB_CLOSE_DELAY=-1;MODE=MySQL",
+                    "--spring.r2dbc.username=sa",
+                    "--spring.r2dbc.password=",
+                    "--logging.level.root=WARN");
+            contexts.add(target);
+        }
+        port = ((WebServerApplicationContext) target).getWebServer().getPort();
+        if (target == servlet) {
+            HikariPoolMXBean pool = servlet.getBean(DataSource.class).unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            heldDatabaseConnections = pool::getActiveConnections;
+        } else {
+            ConnectionPool pool = target.getBean(ConnectionPool.class);
+            heldDatabaseConnections = () -> pool.getMetrics().map(PoolMetrics::acquiredSize).orElse(0);
+        }
+
+        // One request up front fills the credential cache, so the measured clients do not all run the password encoder
+        try (Socket socket = open()) {
+            socket.getInputStream().read();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeConnections() throws Exception {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        sockets.clear();
+        // Give the servers time to notice the aborted streams and give back their threads and connections
+        Thread.sleep(5_000);
+    }
+
+    @Benchmark
+    public void stalledStreams(Served served) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        for (int i = 0; i < connections; i++) {
+            sockets.add(open());
+            Thread.sleep(CONNECT_INTERVAL_MILLIS);
+        }
+
+        long deadline = System.currentTimeMillis() + SERVE_TIMEOUT_MILLIS;
+        int serving = 0;
+        while (serving < connections && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            serving = 0;
+            for (Socket socket : sockets) {
+                if (socket.getInputStream().available() > 0) {
+                    serving++;
+                }
+            }
+        }
+
+        System.gc();
+        served.connections = serving;
+        served.databaseConnections = heldDatabaseConnections.getAsInt();
+        served.threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        served.heapBytesPerConnection = (memory.getHeapMemoryUsage().getUsed() - heapBefore) / connections;
+    }
+
+    private Socket open() throws IOException {
+        Socket socket = new Socket();
+        // A small receive window makes each stream stall after a few kilobytes instead of draining into the kernel
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", port));
+        String request = "GET /api/employees HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Accept: application/x-ndjson\r\n"
+                + "Authorization: " + ADMIN + "\r\n"
+                + "\r\n";
+        socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        return socket;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Served {
+
+        public int connections;
+
+        public int databaseConnections;
+
+        public int threads;
+
+        public long heapBytesPerConnection;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            connections = 0;
+            databaseConnections = 0;
+            threads = 0;
+            heapBytesPerConnection = 0;
+        }
+    }
+}
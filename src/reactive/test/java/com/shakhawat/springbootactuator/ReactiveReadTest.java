@@ -0,0 +1,127 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.DepartmentDTO;
+import com.shakhawat.springbootactuator.employee.EmployeeController;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import com.shakhawat.springbootactuator.reactive.ReactiveReadApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ReactiveReadApplication.class, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-read?options=DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.r2dbc.username=sa",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/migration/V1__baseline_schema.sql,"
+                + "classpath:db/migration/V4__versions_indexes_and_audit_events.sql",
+        "reactive.employees.page-size=2"
+})
+@ActiveProfiles(ReactiveReadApplication.PROFILE)
+@AutoConfigureWebTestClient
+class ReactiveReadTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private long departmentId;
+
+    @BeforeEach
+    void setUp() {
+        departmentId = databaseClient.sql("insert into departments (short_name, name, version) values ('IT', 'Information Technology', 0)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .blockOptional().orElseThrow();
+        for (int i = 1; i <= 5; i++) {
+            databaseClient.sql("insert into employees (code, first_name, last_name, full_name, age, gender, department_id, version) "
+                            + "values (:code, 'First', :lastName, :fullName, 30, 'Female', :departmentId, 0)")
+                    .bind("code", "EMP00" + i)
+                    .bind("lastName", "Last" + i)
+                    .bind("fullName", "First Last" + i)
+                    .bind("departmentId", departmentId)
+                    .then().block();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("delete from employees").then().block();
+        databaseClient.sql("delete from departments").then().block();
+    }
+
+    @Test
+    void testStream_ReadsEveryPageInOrder() {
+        List<EmployeeDTO> employees = webTestClient.get().uri("/api/employees")
+                .header(HttpHeaders.AUTHORIZATION, ADMIN)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EmployeeDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(employees);
+        assertEquals(List.of("EMP001", "EMP002", "EMP003", "EMP004", "EMP005"),
+                employees.stream().map(EmployeeDTO::getCode).toList());
+        assertEquals(departmentId, employees.get(0).getDepartmentId());
+        assertEquals("First Last1", employees.get(0).getFullName());
+    }
+
+    @Test
+    void testPage_FollowsNextCursor() {
+        String cursor = webTestClient.get().uri("/api/employees?limit=3")
+                .header(HttpHeaders.AUTHORIZATION, ADMIN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(3)
+                .returnResult().getResponseHeaders().getFirst(EmployeeController.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        webTestClient.get().uri("/api/employees?limit=3&after={cursor}", cursor)
+                .header(HttpHeaders.AUTHORIZATION, ADMIN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(EmployeeController.NEXT_CURSOR_HEADER)
+                .expectBody().jsonPath("$[0].code").isEqualTo("EMP004").jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void testDepartments_AndMisses() {
+        webTestClient.get().uri("/api/departments/{id}", departmentId)
+                .header(HttpHeaders.AUTHORIZATION, ADMIN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DepartmentDTO.class).isEqualTo(new DepartmentDTO(departmentId, "IT", "Information Technology"));
+        webTestClient.get().uri("/api/departments/{id}", departmentId + 1)
+                .header(HttpHeaders.AUTHORIZATION, ADMIN)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Department not found");
+        webTestClient.get().uri("/api/employees/{id}", Long.MAX_VALUE)
+                .header(HttpHeaders.AUTHORIZATION, ADMIN)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testUnauthenticated_IsRejected() {
+        webTestClient.get().uri("/api/departments").exchange().expectStatus().isUnauthorized();
+    }
+}
@@ -0,0 +1,137 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.audit.AuditEvent;
+import com.shakhawat.springbootactuator.audit.AuditPipeline;
+import com.shakhawat.springbootactuator.audit.AuditSink;
+import com.shakhawat.springbootactuator.audit.JdbcAuditSink;
+import com.shakhawat.springbootactuator.audit.OverflowPolicy;
+import com.shakhawat.springbootactuator.audit.RingBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPipelineTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private List<List<AuditEvent>> batches;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        batches = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void testRingBuffer_ConcurrentProducersLoseNothing() throws Exception {
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int offset = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(offset + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> drained = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            buffer.drainTo(drained, 256);
+            for (Integer value : drained) {
+                assertTrue(seen.add(value), "Duplicate element " + value);
+            }
+            drained.clear();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testPipeline_WritesEventsInBatchesAndFlushesOnStop() {
+        AuditPipeline pipeline = pipeline(OverflowPolicy.BLOCK, 64, 16);
+        pipeline.start();
+        for (int i = 0; i < 500; i++) {
+            assertTrue(pipeline.submit(event(i)));
+        }
+        pipeline.stop();
+
+        assertEquals(500, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 16));
+        assertEquals(500, meterRegistry.get("audit.events.written").counter().count());
+        assertTrue(meterRegistry.get("audit.flush").timer().count() >= 500 / 16);
+    }
+
+    @Test
+    void testDropPolicy_CountsEventsThatDoNotFit() {
+        AuditPipeline pipeline = pipeline(OverflowPolicy.DROP, 8, 16);
+        for (int i = 0; i < 20; i++) {
+            pipeline.submit(event(i));
+        }
+
+        assertEquals(8, meterRegistry.get("audit.queue.depth").gauge().value());
+        assertEquals(12, meterRegistry.get("audit.events.dropped").tag("reason", "full").counter().count());
+    }
+
+    @Test
+    void testSamplePolicy_ThinsEventsOnceHalfFull() {
+        AuditPipeline pipeline = pipeline(OverflowPolicy.SAMPLE, 16, 16);
+        for (int i = 0; i < 28; i++) {
+            pipeline.submit(event(i));
+        }
+
+        assertEquals(8 + 2, meterRegistry.get("audit.queue.depth").gauge().value());
+        assertEquals(18, meterRegistry.get("audit.events.dropped").tag("reason", "sampled").counter().count());
+    }
+
+    @Test
+    void testJdbcSink_AppendsBatch() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists audit_events (id bigint auto_increment primary key, "
+                + "occurred_at timestamp(6) not null, actor varchar(255), action varchar(16) not null, "
+                + "entity_type varchar(255) not null, entity_id bigint, business_key varchar(255))");
+
+        new JdbcAuditSink(jdbcTemplate).write(List.of(event(1),
+                new AuditEvent(Instant.now(), "admin", AuditEvent.Action.CREATE, "Employee", null, "EMP002")));
+
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from audit_events", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from audit_events where entity_id is null", Integer.class));
+    }
+
+    private AuditPipeline pipeline(OverflowPolicy policy, int bufferSize, int batchSize) {
+        AuditSink sink = events -> batches.add(List.copyOf(events));
+        return new AuditPipeline(sink, meterRegistry, bufferSize, batchSize, Duration.ofMillis(5), policy, 10);
+    }
+
+    private static AuditEvent event(long id) {
+        return new AuditEvent(Instant.now(), "admin", AuditEvent.Action.UPDATE, "Employee", id, "EMP" + id);
+    }
+}
@@ -0,0 +1,125 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.config.SecurityConfig;
+import com.shakhawat.springbootactuator.security.CachingAuthenticationProvider;
+import com.shakhawat.springbootactuator.security.HmacTokenAuthenticationFilter;
+import com.shakhawat.springbootactuator.security.HmacTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthenticationTest {
+
+    private static final byte[] SECRET = "test-secret-test-secret-test-secret".getBytes(StandardCharsets.UTF_8);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        SecurityConfig securityConfig = new SecurityConfig();
+        UserDetailsService users = securityConfig.users();
+        provider = securityConfig.cachingAuthenticationProvider(users, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRepeatedCredentials_SkipPasswordCheck() {
+        Authentication first = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin"));
+        Authentication second = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin"));
+
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getName(), second.getName());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertNull(second.getCredentials());
+        assertEquals(1, meterRegistry.get("auth.authentication").tag("cache", "miss").timer().count());
+        assertEquals(1, meterRegistry.get("auth.authentication").tag("cache", "hit").timer().count());
+    }
+
+    @Test
+    void testWrongPassword_IsNeverCached() {
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "user"));
+
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "wrong")));
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "wrong")));
+        assertEquals(2, meterRegistry.get("auth.authentication").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void testIssuedToken_VerifiesUntilExpiry() {
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        Authentication admin = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin"));
+        String token = new HmacTokenService(SECRET, Duration.ofMinutes(15), Clock.fixed(now, ZoneOffset.UTC)).issue(admin).token();
+
+        Authentication verified = new HmacTokenService(SECRET, Duration.ofMinutes(15), Clock.fixed(now.plusSeconds(60), ZoneOffset.UTC))
+                .verify(token).orElseThrow();
+        assertEquals("admin", verified.getName());
+        assertEquals(admin.getAuthorities(), verified.getAuthorities());
+
+        assertTrue(new HmacTokenService(SECRET, Duration.ofMinutes(15), Clock.fixed(now.plusSeconds(900), ZoneOffset.UTC))
+                .verify(token).isEmpty());
+    }
+
+    @Test
+    void testTamperedToken_IsRejected() {
+        HmacTokenService tokenService = new HmacTokenService(SECRET, Duration.ofMinutes(15), Clock.systemUTC());
+        String token = tokenService.issue(provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "user"))).token();
+        String forged = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated("user", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN"))).token();
+
+        assertTrue(tokenService.verify(forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'))).isEmpty());
+        assertTrue(new HmacTokenService("other".getBytes(StandardCharsets.UTF_8), Duration.ofMinutes(15), Clock.systemUTC())
+                .verify(token).isEmpty());
+        assertTrue(tokenService.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    void testBearerFilter_AuthenticatesRequest() throws Exception {
+        HmacTokenService tokenService = new HmacTokenService(SECRET, Duration.ofMinutes(15), Clock.systemUTC());
+        String token = tokenService.issue(provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "user"))).token();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        Authentication[] seen = new Authentication[1];
+
+        new HmacTokenAuthenticationFilter(tokenService, meterRegistry).doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain() {
+                    @Override
+                    public void doFilter(ServletRequest req, ServletResponse res) {
+                        seen[0] = SecurityContextHolder.getContext().getAuthentication();
+                    }
+                });
+
+        assertNotNull(seen[0]);
+        assertEquals("user", seen[0].getName());
+        assertEquals(1, meterRegistry.get("auth.authentication").tag("method", "token").tag("outcome", "success").timer().count());
+    }
+}
@@ -0,0 +1,243 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.DepartmentChangeFeed;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.EmployeeChangeFeed;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import com.shakhawat.springbootactuator.web.ChangeFeed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static com.shakhawat.springbootactuator.TestCredentials.USER;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "change-feed.replay-capacity=5",
+        "change-feed.subscriber-buffer=50"
+})
+@ActiveProfiles("test")
+class ChangeFeedTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private final List<CompletableFuture<?>> subscriptions = new ArrayList<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentChangeFeed departmentChangeFeed;
+
+    @Autowired
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ChangeFeed.Settings changeFeedSettings;
+
+    @AfterEach
+    void tearDown() {
+        subscriptions.forEach(subscription -> subscription.cancel(true));
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testCommittedWrites_ArePushedToSubscribers() throws Exception {
+        BlockingQueue<String> departments = subscribe("/api/departments/changes", null);
+        BlockingQueue<String> employees = subscribe("/api/employees/changes", null);
+        awaitSubscribers(1, 1);
+
+        HttpResponse<String> created = send(HttpRequest.newBuilder(uri("/api/departments"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"shortName\": \"IT\", \"name\": \"Information Technology\"}")));
+        assertEquals(201, created.statusCode());
+        long departmentId = departmentRepository.findAll().get(0).getId();
+        Map<String, String> event = nextEvent(departments);
+        assertEquals("created", event.get("event"));
+        assertEquals(departmentChangeFeed.eventId(departmentChangeFeed.getSequence()), event.get("id"));
+        assertTrue(event.get("data").contains("\"shortName\":\"IT\""));
+
+        send(HttpRequest.newBuilder(uri("/api/employees"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"code": "EMP001", "firstName": "John", "lastName": "Doe", "age": 30, "gender": "Male", "address": "123 Street", "departmentId": %d}
+                        """.formatted(departmentId))));
+        long employeeId = employeeRepository.findAll().get(0).getId();
+        send(HttpRequest.newBuilder(uri("/api/employees/" + employeeId)).DELETE());
+        assertEquals("created", nextEvent(employees).get("event"));
+        Map<String, String> deleted = nextEvent(employees);
+        assertEquals("deleted", deleted.get("event"));
+        assertTrue(deleted.get("data").contains("\"code\":\"EMP001\""));
+
+        assertTrue(meterRegistry.get("change.feed.lag").tag("feed", "employees").summary().count() >= 2);
+        HttpResponse<String> endpoint = send(HttpRequest.newBuilder(uri("/mgt-details/change-feeds")));
+        assertTrue(endpoint.body().contains("\"principal\":\"admin\""), endpoint.body());
+    }
+
+    @Test
+    void testReconnect_ReplaysMissedChangesOrResets() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            departmentChangeFeed.publish("updated", Map.of("n", i));
+        }
+        long last = departmentChangeFeed.getSequence();
+
+        BlockingQueue<String> resumed = subscribe("/api/departments/changes", departmentChangeFeed.eventId(last - 2));
+        assertEquals(departmentChangeFeed.eventId(last - 1), nextEvent(resumed).get("id"));
+        assertEquals(departmentChangeFeed.eventId(last), nextEvent(resumed).get("id"));
+
+        for (int i = 0; i < 10; i++) {
+            departmentChangeFeed.publish("updated", Map.of("n", i));
+        }
+        // Only the last five changes are kept
+        BlockingQueue<String> tooOld = subscribe("/api/departments/changes", departmentChangeFeed.eventId(last));
+        Map<String, String> reset = nextEvent(tooOld);
+        assertEquals("reset", reset.get("event"));
+        assertEquals(departmentChangeFeed.eventId(departmentChangeFeed.getSequence()), reset.get("id"));
+        assertEquals(departmentChangeFeed.eventId(departmentChangeFeed.getSequence()), reset.get("data"));
+
+        departmentChangeFeed.publish("updated", Map.of("n", "live"));
+        assertEquals(departmentChangeFeed.eventId(departmentChangeFeed.getSequence()), nextEvent(tooOld).get("id"));
+    }
+
+    @Test
+    void testReconnectWithIdFromAnotherEpoch_Resets() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            departmentChangeFeed.publish("updated", Map.of("n", i));
+        }
+        long last = departmentChangeFeed.getSequence();
+
+        // Sequence numbers that are still kept, but issued before a restart or by another instance
+        for (String stale : List.of("0" + departmentChangeFeed.getEpoch() + "-" + (last - 1), String.valueOf(last - 1))) {
+            BlockingQueue<String> lines = subscribe("/api/departments/changes", stale);
+            Map<String, String> reset = nextEvent(lines);
+            assertEquals("reset", reset.get("event"), stale);
+            assertEquals(departmentChangeFeed.eventId(last), reset.get("id"));
+        }
+    }
+
+    @Test
+    void testSlowSubscriber_IsDisconnected() throws Exception {
+        double before = meterRegistry.get("change.feed.disconnects").tag("feed", "employees").counter().count();
+        int subscribers = employeeChangeFeed.getSubscribers().size();
+        try (Socket socket = new Socket("localhost", port)) {
+            // Subscribes, then never reads, so the socket buffers fill and sends stall
+            socket.setReceiveBufferSize(4096);
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /api/employees/changes HTTP/1.1\r\nHost: localhost\r\nAuthorization: " + ADMIN + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            await().atMost(Duration.ofSeconds(10)).until(() -> employeeChangeFeed.getSubscribers().size() > subscribers);
+
+            String padding = "x".repeat(64 * 1024);
+            await().atMost(Duration.ofSeconds(30)).until(() -> {
+                employeeChangeFeed.publish("updated", Map.of("padding", padding));
+                return meterRegistry.get("change.feed.disconnects").tag("feed", "employees").counter().count() > before;
+            });
+        }
+        assertEquals(subscribers, employeeChangeFeed.getSubscribers().size());
+    }
+
+    @Test
+    void testSubscriptionsOverThePerPrincipalLimit_AreRejected() throws Exception {
+        int limit = changeFeedSettings.maxSubscribersPerPrincipal();
+        for (int i = 0; i < limit; i++) {
+            subscribe("/api/departments/changes", null, USER);
+        }
+        await().atMost(Duration.ofSeconds(10)).until(() -> departmentChangeFeed.getSubscribers().stream()
+                .filter(subscriber -> subscriber.principal().equals("user")).count() == limit);
+
+        HttpResponse<String> rejected = client.send(HttpRequest.newBuilder(uri("/api/departments/changes"))
+                .header(HttpHeaders.AUTHORIZATION, USER)
+                .header(HttpHeaders.ACCEPT, "text/event-stream")
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(429, rejected.statusCode());
+        assertEquals(1.0, meterRegistry.get("change.feed.rejections").tag("feed", "departments").counter().count());
+
+        // The limit is per principal, so other users can still subscribe
+        BlockingQueue<String> admin = subscribe("/api/departments/changes", "unknown");
+        assertEquals("reset", nextEvent(admin).get("event"));
+    }
+
+    private BlockingQueue<String> subscribe(String path, String lastEventId) {
+        return subscribe(path, lastEventId, ADMIN);
+    }
+
+    private BlockingQueue<String> subscribe(String path, String lastEventId, String credentials) {
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+                .header(HttpHeaders.AUTHORIZATION, credentials)
+                .header(HttpHeaders.ACCEPT, "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        subscriptions.add(client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body().forEach(lines::add)));
+        return lines;
+    }
+
+    /**
+     * Reads the next event, skipping heartbeat comments.
+     */
+    private static Map<String, String> nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        Map<String, String> fields = new HashMap<>();
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertNotNull(line, "No event within 10 seconds");
+            if (line.isEmpty()) {
+                if (!fields.isEmpty()) {
+                    return fields;
+                }
+            } else if (!line.startsWith(":")) {
+                int colon = line.indexOf(':');
+                fields.put(line.substring(0, colon), line.substring(colon + 1));
+            }
+        }
+    }
+
+    private void awaitSubscribers(int departments, int employees) {
+        await().atMost(Duration.ofSeconds(10)).until(() -> departmentChangeFeed.getSubscribers().size() >= departments
+                && employeeChangeFeed.getSubscribers().size() >= employees);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.header(HttpHeaders.AUTHORIZATION, ADMIN).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
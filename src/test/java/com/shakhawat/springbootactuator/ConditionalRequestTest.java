@@ -0,0 +1,184 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentDTO;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.department.DepartmentService;
+import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Department department;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        department = departmentRepository.save(new Department(null, "IT", "Information Technology"));
+        employee = employeeRepository.save(new Employee(null, "EMP001", "John", "Doe", null, 30, "Male", "123 Street", department));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testEmployeeIfNoneMatch_ReturnsNotModifiedWithoutLoadingEmployee() throws Exception {
+        String eTag = mockMvc.perform(authorized(get("/api/employees/{id}", employee.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(authorized(get("/api/employees/{id}", employee.getId())).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testEmployeeIfModifiedSince_ReturnsNotModified() throws Exception {
+        String lastModified = mockMvc.perform(authorized(get("/api/employees/{id}", employee.getId())))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(authorized(get("/api/employees/{id}", employee.getId())).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testDepartmentList_ETagChangesWhenDepartmentsChange() throws Exception {
+        String eTag = mockMvc.perform(authorized(get("/api/departments")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(authorized(get("/api/departments")).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(authorized(post("/api/departments")).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"shortName\": \"HR\", \"name\": \"Human Resources\"}"))
+                .andExpect(status().isCreated());
+
+        String changed = mockMvc.perform(authorized(get("/api/departments")).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, changed);
+    }
+
+    @Test
+    void testDepartmentList_ReadDuringUncommittedUpdateIsEvictedOnCommit() throws Exception {
+        departmentService.getAllDepartments();
+        DepartmentDTO update = new DepartmentDTO(department.getId(), "ICT", "Information and Communication Technology");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            departmentService.updateDepartment(department.getId(), update, null);
+            // Another request reads the committed rows and caches them again, before this transaction commits
+            CompletableFuture.runAsync(departmentService::getAllDepartments).join();
+        });
+
+        String body = mockMvc.perform(authorized(get("/api/departments")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, departmentService.getAllDepartments().version().eTag()))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("\"shortName\":\"ICT\""), body);
+    }
+
+    @Test
+    void testDepartmentUpdate_HonoursIfMatch() throws Exception {
+        String eTag = mockMvc.perform(authorized(get("/api/departments/{id}", department.getId())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String body = "{\"shortName\": \"ICT\", \"name\": \"Information and Communication Technology\"}";
+
+        String updated = mockMvc.perform(authorized(put("/api/departments/{id}", department.getId()))
+                        .contentType(MediaType.APPLICATION_JSON).content(body).header(HttpHeaders.IF_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, updated);
+
+        mockMvc.perform(authorized(put("/api/departments/{id}", department.getId()))
+                        .contentType(MediaType.APPLICATION_JSON).content(body).header(HttpHeaders.IF_MATCH, eTag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testMissingResources_AreNotFound() throws Exception {
+        long missing = employee.getId() + 1000;
+        mockMvc.perform(authorized(get("/api/employees/{id}", missing)))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Employee not found"));
+        // The plain-text body is sent whatever the client accepts
+        mockMvc.perform(authorized(get("/api/employees/{id}", missing)).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(authorized(get("/api/departments/{id}", missing)))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Department not found"));
+        mockMvc.perform(authorized(get("/api/departments/{id}/stats", missing)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(authorized(delete("/api/employees/{id}", missing)))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Employee not found with id: " + missing));
+        mockMvc.perform(authorized(put("/api/departments/{id}", missing)).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"shortName\": \"ICT\", \"name\": \"Information and Communication Technology\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Department not found with id: " + missing));
+    }
+
+    private static MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, ADMIN);
+    }
+}
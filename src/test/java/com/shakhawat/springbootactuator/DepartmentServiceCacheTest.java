@@ -0,0 +1,100 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.config.CacheConfig;
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentDTO;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.department.DepartmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfig.class, DepartmentService.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "spring.cache.type=caffeine",
+        "spring.cache.cache-names=departments,departmentList",
+        "spring.cache.caffeine.spec=maximumSize=100,recordStats"
+})
+class DepartmentServiceCacheTest {
+
+    @MockBean
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final Department department = new Department(1L, "IT", "Information Technology");
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
+        when(departmentRepository.findAll()).thenReturn(List.of(department));
+    }
+
+    @Test
+    void testGetDepartmentById_ReadsThroughCache() {
+        departmentService.getDepartmentById(1L);
+        Optional<DepartmentDTO> cached = departmentService.getDepartmentById(1L);
+
+        assertEquals("IT", cached.orElseThrow().getShortName());
+        verify(departmentRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testGetAllDepartments_ReadsThroughCache() {
+        departmentService.getAllDepartments();
+        departmentService.getAllDepartments();
+
+        verify(departmentRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testUpdateDepartment_EvictsEntryAndList() {
+        departmentService.getDepartmentById(1L);
+        departmentService.getAllDepartments();
+
+        departmentService.updateDepartment(1L, new DepartmentDTO(1L, "ICT", "Information and Communication Technology"), null);
+        departmentService.getDepartmentById(1L);
+        departmentService.getAllDepartments();
+
+        verify(departmentRepository, times(3)).findById(1L);
+        verify(departmentRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testCreateDepartment_EvictsList() {
+        departmentService.getAllDepartments();
+
+        departmentService.createDepartment(new DepartmentDTO(null, "HR", "Human Resources"));
+        departmentService.getAllDepartments();
+
+        verify(departmentRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testDeleteDepartment_EvictsEntry() {
+        departmentService.getDepartmentById(1L);
+
+        departmentService.deleteDepartment(1L);
+        departmentService.getDepartmentById(1L);
+
+        verify(departmentRepository, times(3)).findById(1L);
+    }
+}
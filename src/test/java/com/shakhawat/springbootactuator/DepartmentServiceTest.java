@@ -2,9 +2,12 @@ package com.shakhawat.springbootactuator;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentChangedEvent;
 import com.shakhawat.springbootactuator.department.DepartmentDTO;
 import com.shakhawat.springbootactuator.department.DepartmentRepository;
 import com.shakhawat.springbootactuator.department.DepartmentService;
+import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.exception.ResourceConflictException;
 import com.shakhawat.springbootactuator.exception.ResourceNotFoundException;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +15,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +31,9 @@ public class DepartmentServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DepartmentService departmentService;
 
@@ -59,9 +69,8 @@ public class DepartmentServiceTest {
         // Arrange: Mock the repository to return an empty Optional
         when(departmentRepository.findById(1L)).thenReturn(Optional.empty());
 
-        // Act & Assert: Expect ResourceNotFoundException to be thrown
-        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> departmentService.getDepartmentById(1L));
-        assertEquals("Department with id: 1 not found", exception.getMessage());
+        // Act & Assert: A miss is an empty Optional, not an exception
+        assertTrue(departmentService.getDepartmentById(1L).isEmpty());
 
         // Verify the interaction with repository
         verify(departmentRepository, times(1)).findById(1L);
@@ -116,6 +125,22 @@ public class DepartmentServiceTest {
 
         // Assert
         verify(departmentRepository).delete(department); // Verify that the delete method was called with the correct department
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof DepartmentChangedEvent changed
+                && changed.after() == null && changed.before().getId().equals(department.getId())));
+    }
+
+    @Test
+    void testDeleteDepartment_StillReferenced() {
+        // Arrange: the flush fails on the employees foreign key
+        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), Employee.DEPARTMENT_CONSTRAINT)))
+                .when(departmentRepository).flush();
+
+        // Act & Assert
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> departmentService.deleteDepartment(1L));
+        assertEquals("Department with id: 1 still has employees", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -161,13 +186,13 @@ public class DepartmentServiceTest {
         departmentDTO.setName("New Name");
 
         // Act
-        DepartmentDTO updatedDepartment = departmentService.updateDepartment(id, departmentDTO);
+        DepartmentDTO updatedDepartment = departmentService.updateDepartment(id, departmentDTO, null);
 
         // Assert
         assertNotNull(updatedDepartment);
         assertEquals("New Short Name", updatedDepartment.getShortName());
         assertEquals("New Name", updatedDepartment.getName());
-        verify(departmentRepository, times(1)).save(department);
+        verify(departmentRepository, times(1)).saveAndFlush(department);
     }
 
     @Test
@@ -179,21 +204,21 @@ public class DepartmentServiceTest {
         DepartmentDTO departmentDTO = new DepartmentDTO();
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> departmentService.updateDepartment(id, departmentDTO));
-        assertEquals("Department not found", exception.getMessage());
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> departmentService.updateDepartment(id, departmentDTO, null));
+        assertEquals("Department not found with id: 1", exception.getMessage());
     }
 
     @Test
     void testUpdateDepartment_NullId() {
         // Act & Assert
-        NullPointerException exception = assertThrows(NullPointerException.class, () -> departmentService.updateDepartment(null, new DepartmentDTO()));
+        NullPointerException exception = assertThrows(NullPointerException.class, () -> departmentService.updateDepartment(null, new DepartmentDTO(), null));
         assertEquals("Department ID must not be null", exception.getMessage());
     }
 
     @Test
     void testUpdateDepartment_NullDepartmentDTO() {
         // Act & Assert
-        NullPointerException exception = assertThrows(NullPointerException.class, () -> departmentService.updateDepartment(1L, null));
+        NullPointerException exception = assertThrows(NullPointerException.class, () -> departmentService.updateDepartment(1L, null, null));
         assertEquals("Department DTO must not be null", exception.getMessage());
     }
 
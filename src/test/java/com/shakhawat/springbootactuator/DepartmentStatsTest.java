@@ -0,0 +1,179 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.department.DepartmentStats;
+import com.shakhawat.springbootactuator.department.DepartmentStatsService;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import com.shakhawat.springbootactuator.employee.EmployeeService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class DepartmentStatsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartmentStatsService departmentStatsService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Department engineering;
+
+    private Department finance;
+
+    @BeforeEach
+    void setUp() {
+        engineering = departmentRepository.save(new Department(null, "ENG", "Engineering"));
+        finance = departmentRepository.save(new Department(null, "FIN", "Finance"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+        departmentStatsService.reconcile();
+    }
+
+    @Test
+    void testCounters_FollowCreateMoveAndDelete() {
+        EmployeeDTO alice = employeeService.createEmployee(employee("EMP001", 30, "Female", engineering.getId()));
+        employeeService.createEmployee(employee("EMP002", 40, "Male", engineering.getId()));
+        employeeService.createEmployee(employee("EMP003", 50, "Male", finance.getId()));
+
+        assertEquals(new DepartmentStats(engineering.getId(), 2, 35.0, Map.of("Female", 1L, "Male", 1L)),
+                departmentStatsService.getDepartmentStats(engineering.getId()).orElseThrow());
+
+        alice.setDepartmentId(finance.getId());
+        alice.setAge(32);
+        employeeService.updateEmployee(alice.getId(), alice, null);
+        assertEquals(new DepartmentStats(engineering.getId(), 1, 40.0, Map.of("Male", 1L)),
+                departmentStatsService.getDepartmentStats(engineering.getId()).orElseThrow());
+        assertEquals(new DepartmentStats(finance.getId(), 2, 41.0, Map.of("Female", 1L, "Male", 1L)),
+                departmentStatsService.getDepartmentStats(finance.getId()).orElseThrow());
+
+        employeeService.deleteEmployee(alice.getId());
+        assertEquals(new DepartmentStats(finance.getId(), 1, 50.0, Map.of("Male", 1L)),
+                departmentStatsService.getDepartmentStats(finance.getId()).orElseThrow());
+    }
+
+    @Test
+    void testReconcile_CorrectsWritesThatBypassedTheService() {
+        employeeService.createEmployee(employee("EMP001", 30, "Female", engineering.getId()));
+        jdbcTemplate.update("insert into employees (code, first_name, last_name, full_name, age, gender, address, department_id, version) "
+                + "values ('EMP002', 'Jane', 'Roe', 'Jane Roe', 50, 'Female', 'Street', ?, 0)", engineering.getId());
+        assertEquals(1, departmentStatsService.getDepartmentStats(engineering.getId()).orElseThrow().headcount());
+
+        departmentStatsService.reconcile();
+
+        assertEquals(new DepartmentStats(engineering.getId(), 2, 40.0, Map.of("Female", 2L)),
+                departmentStatsService.getDepartmentStats(engineering.getId()).orElseThrow());
+    }
+
+    @Test
+    void testReconcile_DoesNotCountAWriteWhoseEventArrivesLaterTwice() {
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeService.createEmployee(employee("EMP001", 30, "Female", engineering.getId()));
+            // Runs after the commit but before the event is applied, so the query already sees the employee
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    departmentStatsService.reconcile();
+                }
+            });
+        });
+
+        assertEquals(new DepartmentStats(engineering.getId(), 1, 30.0, Map.of("Female", 1L)),
+                departmentStatsService.getDepartmentStats(engineering.getId()).orElseThrow());
+    }
+
+    @Test
+    void testReconcile_CountsRowsWithoutGenderAsUnknown() {
+        employeeService.createEmployee(employee("EMP001", 30, "Female", engineering.getId()));
+        // The column is only NOT NULL where the schema came from the validated mapping
+        jdbcTemplate.execute("alter table employees alter column gender set null");
+        try {
+            jdbcTemplate.update("insert into employees (code, first_name, last_name, age, department_id, version) "
+                    + "values ('EMP002', 'Jane', 'Roe', 50, ?, 0)", engineering.getId());
+
+            departmentStatsService.reconcile();
+
+            assertEquals(new DepartmentStats(engineering.getId(), 2, 40.0, Map.of("Female", 1L, "Unknown", 1L)),
+                    departmentStatsService.getDepartmentStats(engineering.getId()).orElseThrow());
+        } finally {
+            jdbcTemplate.update("delete from employees where gender is null");
+            jdbcTemplate.execute("alter table employees alter column gender set not null");
+        }
+    }
+
+    @Test
+    void testStatsEndpoints_DoNotQueryEmployees() throws Exception {
+        employeeService.createEmployee(employee("EMP001", 30, "Female", engineering.getId()));
+        mockMvc.perform(get("/api/departments/stats").header("Authorization", ADMIN)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/departments/{id}/stats", engineering.getId()).header("Authorization", ADMIN)).andExpect(status().isOk());
+        double before = statements("/api/departments/stats") + statements("/api/departments/{id}/stats");
+
+        mockMvc.perform(get("/api/departments/stats").header("Authorization", ADMIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[?(@.departmentId == %d)].headcount", finance.getId()).value(0));
+        mockMvc.perform(get("/api/departments/{id}/stats", engineering.getId()).header("Authorization", ADMIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.headcount").value(1))
+                .andExpect(jsonPath("$.averageAge").value(30.0))
+                .andExpect(jsonPath("$.genders.Female").value(1));
+
+        // Both departments are served from the department cache and the counters
+        assertEquals(0.0, statements("/api/departments/stats") + statements("/api/departments/{id}/stats") - before);
+    }
+
+    private double statements(String uri) {
+        DistributionSummary summary = meterRegistry.find("http.server.requests.jdbc.statements").tag("uri", uri).summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    private static EmployeeDTO employee(String code, int age, String gender, Long departmentId) {
+        return new EmployeeDTO(null, code, "John", "Doe", null, age, gender, "123 Street", departmentId);
+    }
+}
@@ -0,0 +1,126 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.BulkImportResult;
+import com.shakhawat.springbootactuator.employee.BulkImportResult.Status;
+import com.shakhawat.springbootactuator.employee.EmployeeBulkImportService;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "employee.bulk-import.batch-size=3")
+@Import(EmployeeBulkImportService.class)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeBulkImportServiceTest {
+
+    @Autowired
+    private EmployeeBulkImportService employeeBulkImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Long departmentId;
+
+    @BeforeEach
+    void setUp() {
+        departmentId = departmentRepository.save(new Department(null, "IT", "Information Technology")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testImportEmployees_AllCreatedAcrossBatches() {
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            employees.add(employee("EMP" + i, departmentId));
+        }
+
+        BulkImportResult result = employeeBulkImportService.importEmployees(employees.iterator());
+
+        assertEquals(10, result.total());
+        assertEquals(10, result.created());
+        assertEquals(0, result.failed());
+        assertEquals(10, employeeRepository.count());
+        assertEquals("First Last", employeeRepository.findAll().get(0).getFullName());
+    }
+
+    @Test
+    void testImportEmployees_ReportsRejectedRows() {
+        employeeBulkImportService.importEmployees(List.of(employee("EXISTING", departmentId)).iterator());
+        EmployeeDTO invalid = employee("BAD", departmentId);
+        invalid.setAge(10);
+
+        BulkImportResult result = employeeBulkImportService.importEmployees(List.of(
+                employee("NEW1", departmentId),
+                employee("EXISTING", departmentId),
+                invalid,
+                employee("NEW1", departmentId),
+                employee("NEW2", departmentId + 100)).iterator());
+
+        assertEquals(5, result.total());
+        assertEquals(1, result.created());
+        assertEquals(4, result.failed());
+        assertEquals(List.of(Status.CREATED, Status.DUPLICATE_CODE, Status.INVALID, Status.DUPLICATE_CODE, Status.UNKNOWN_DEPARTMENT),
+                result.rows().stream().map(BulkImportResult.Row::status).toList());
+        assertEquals("age: Age must be at least 18", result.rows().get(2).message());
+        assertEquals(2, employeeRepository.count());
+    }
+
+    @Test
+    void testImportEmployees_RejectsNullElements() {
+        List<EmployeeDTO> employees = new ArrayList<>();
+        employees.add(employee("NEW1", departmentId));
+        employees.add(null);
+
+        BulkImportResult result = employeeBulkImportService.importEmployees(employees.iterator());
+
+        assertEquals(1, result.created());
+        assertEquals(Status.INVALID, result.rows().get(1).status());
+        assertNull(result.rows().get(1).code());
+        assertEquals(1, employeeRepository.count());
+    }
+
+    @Test
+    void testImportEmployees_RejectsRowsTheDatabaseRefuses() {
+        // Passes validation, but is longer than the address column, so the batch and its retry both fail
+        EmployeeDTO tooLong = employee("LONG", departmentId);
+        tooLong.setAddress("x".repeat(300));
+
+        BulkImportResult result = employeeBulkImportService.importEmployees(List.of(
+                employee("NEW1", departmentId),
+                tooLong,
+                employee("NEW2", departmentId)).iterator());
+
+        assertEquals(2, result.created());
+        assertEquals(List.of(Status.CREATED, Status.INVALID, Status.CREATED),
+                result.rows().stream().map(BulkImportResult.Row::status).toList());
+        assertEquals(2, employeeRepository.count());
+    }
+
+    private EmployeeDTO employee(String code, Long departmentId) {
+        return new EmployeeDTO(null, code, "First", "Last", null, 30, "Male", "Street", departmentId);
+    }
+}
@@ -0,0 +1,192 @@
+package com.shakhawat.springbootactuator;
+
+import com.jayway.jsonpath.JsonPath;
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import com.shakhawat.springbootactuator.web.CsvWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Small enough that every export drains the buffer many times
+        "employee.export.buffer-size=64"
+})
+@ActiveProfiles("test")
+class EmployeeExportTest {
+
+    private static final String HEADER = "\uFEFFid,code,firstName,lastName,fullName,age,gender,address,departmentId";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Department it;
+
+    private Department hr;
+
+    @BeforeEach
+    void setUp() {
+        it = departmentRepository.save(new Department(null, "IT", "Information Technology"));
+        hr = departmentRepository.save(new Department(null, "HR", "Human Resources"));
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(new Employee(null, "EMP" + i, "First" + i, "Last" + i, "First" + i + " Last" + i,
+                    20 + i % 40, i % 2 == 0 ? "Male" : "Female", "Street " + i, i % 4 == 0 ? hr : it));
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testExport_StreamsEveryEmployeeAsCsv() throws Exception {
+        double rowsBefore = exportedRows();
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/employees/export?format=csv")));
+
+        assertEquals(200, response.statusCode());
+        assertEquals("text/csv;charset=UTF-8", response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(null));
+        assertTrue(response.headers().firstValue(HttpHeaders.CONTENT_DISPOSITION).orElse("").contains("employees.csv"));
+        String[] lines = new String(response.body(), StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(201, lines.length);
+        assertEquals(HEADER, lines[0]);
+        Employee first = employeeRepository.findAll().stream().filter(e -> e.getCode().equals("EMP0")).findFirst().orElseThrow();
+        assertEquals(first.getId() + ",EMP0,First0,Last0,First0 Last0,20,Male,Street 0," + hr.getId(), lines[1]);
+        // The rows are read on the MVC async thread and still counted against the request
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(200.0, exportedRows() - rowsBefore));
+    }
+
+    @Test
+    void testExport_AppliesTheListFilters() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(
+                uri("/api/employees/export?departmentId=" + hr.getId() + "&minAge=30&maxAge=39")));
+
+        String[] lines = new String(response.body(), StandardCharsets.UTF_8).split("\r\n");
+        assertTrue(lines.length > 1);
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split(",");
+            int age = Integer.parseInt(fields[5]);
+            assertTrue(age >= 30 && age <= 39, lines[i]);
+            assertEquals(String.valueOf(hr.getId()), fields[8]);
+        }
+        long expected = employeeRepository.findAll().stream()
+                .filter(e -> e.getDepartment().getId().equals(hr.getId()) && e.getAge() >= 30 && e.getAge() <= 39)
+                .count();
+        assertEquals(expected, lines.length - 1);
+    }
+
+    @Test
+    void testExport_MatchesNamePrefixLiterallyLikeTheList() throws Exception {
+        for (String lastName : List.of("O%_!Brien", "O%_!Neil", "O%_Brien", "O%a!Brien", "Oxx!Brien", "O%_Brien!")) {
+            employeeRepository.save(new Employee(null, "CODE-" + lastName, "Pat", lastName, null, 30, "Male", null, it));
+        }
+
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/employees/export?name=O%25_!")));
+
+        String[] lines = new String(response.body(), StandardCharsets.UTF_8).split("\r\n");
+        List<String> lastNames = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            lastNames.add(lines[i].split(",")[3]);
+        }
+        assertEquals(List.of("O%_!Brien", "O%_!Neil"), lastNames);
+        // The list applies the same prefix through EmployeeSpecifications
+        String listed = new String(send(HttpRequest.newBuilder(uri("/api/employees?name=O%25_!"))).body(), StandardCharsets.UTF_8);
+        assertEquals(Set.copyOf(lastNames), Set.copyOf(JsonPath.<List<String>>read(listed, "$[*].lastName")));
+    }
+
+    @Test
+    void testExport_IsGzippedOnRequest() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/employees/export"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            String csv = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(csv.startsWith(HEADER));
+            assertEquals(201, csv.split("\r\n").length);
+        }
+    }
+
+    @Test
+    void testExport_RejectsUnknownFormat() throws Exception {
+        assertEquals(400, send(HttpRequest.newBuilder(uri("/api/employees/export?format=xml"))).statusCode());
+    }
+
+    @Test
+    void testCsvWriter_QuotesAndEncodesFields() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvWriter(out, 32)
+                .field(Long.MIN_VALUE).field(0).field("a,b").field("say \"hi\"").field("line\nbreak").endRow()
+                .field(-42).field((String) null).field("Zoë 東京 😀").endRow()
+                .flush();
+
+        assertEquals("\uFEFF-9223372036854775808,0,\"a,b\",\"say \"\"hi\"\"\",\"line\nbreak\"\r\n"
+                + "-42,,Zoë 東京 😀\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCsvWriter_NeutralisesFormulasInTextFields() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvWriter(out, 32)
+                .field("=HYPERLINK(\"http://x\")").field("+1").field("-2").field("@SUM(A1)").field("\tx").field("\rx")
+                .field(-3).field("a=b").field("").endRow()
+                .flush();
+
+        assertEquals("\uFEFF\"'=HYPERLINK(\"\"http://x\"\")\",'+1,'-2,'@SUM(A1),'\tx,\"'\rx\",-3,a=b,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    private double exportedRows() {
+        DistributionSummary rows = meterRegistry.find("http.server.requests.jdbc.rows").tag("uri", "/api/employees/export").summary();
+        return rows != null ? rows.totalAmount() : 0;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.header(HttpHeaders.AUTHORIZATION, ADMIN).build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,159 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.employee.EmployeeCursor;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import com.shakhawat.springbootactuator.employee.EmployeeFilter;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import com.shakhawat.springbootactuator.employee.EmployeeSort;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs employee filter combinations and checks the H2 plan of the generated SQL seeks through an index.
+ */
+@DataJpaTest
+class EmployeeQueryPlanTest {
+
+    private static final List<QueryInfo> EXECUTED = new ArrayList<>();
+
+    @TestConfiguration
+    static class CaptureSqlConfig {
+
+        @Bean
+        static BeanPostProcessor captureSqlPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .listener(new QueryExecutionListener() {
+                                    @Override
+                                    public void beforeQuery(net.ttddyy.dsproxy.ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                                        EXECUTED.addAll(queryInfoList);
+                                    }
+
+                                    @Override
+                                    public void afterQuery(net.ttddyy.dsproxy.ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                                    }
+                                })
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long departmentId;
+
+    @BeforeEach
+    void setUp() {
+        Department department = testEntityManager.persist(new Department(null, "IT", "Information Technology"));
+        departmentId = department.getId();
+        for (int i = 0; i < 50; i++) {
+            testEntityManager.persist(new Employee(null, "EMP" + i, "First" + i, "Last" + i, null, 18 + i % 40,
+                    i % 2 == 0 ? "Male" : "Female", null, department));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void testDepartmentFilter_UsesDepartmentAgeIndex() {
+        assertPlanUses("DEPARTMENT_ID = ?1 */", new EmployeeFilter(departmentId, null, null, null, null), EmployeeSort.DEFAULT);
+        assertPlanUses("EMPLOYEES_DEPARTMENT_AGE_IDX", new EmployeeFilter(departmentId, null, 20, 40, null), EmployeeSort.parse("age"));
+    }
+
+    @Test
+    void testGenderFilter_UsesGenderAgeIndex() {
+        assertPlanUses("EMPLOYEES_GENDER_AGE_IDX", new EmployeeFilter(null, "Female", null, null, null), EmployeeSort.DEFAULT);
+        assertPlanUses("EMPLOYEES_GENDER_AGE_IDX", new EmployeeFilter(null, "Female", 30, null, null), EmployeeSort.parse("-age"));
+    }
+
+    @Test
+    void testAgeRangeFilter_UsesAgeIndex() {
+        assertPlanUses("EMPLOYEES_AGE_IDX", new EmployeeFilter(null, null, 25, 30, null), EmployeeSort.parse("age"));
+    }
+
+    @Test
+    void testNamePrefixFilter_UsesNameIndex() {
+        assertPlanUses("EMPLOYEES_NAME_IDX", new EmployeeFilter(null, null, null, null, "Last1"), EmployeeSort.parse("name"));
+    }
+
+    @Test
+    void testSortedKeysetPages_VisitEveryMatchInOrder() {
+        EmployeeFilter filter = new EmployeeFilter(departmentId, null, 20, null, null);
+        EmployeeSort sort = EmployeeSort.parse("-age");
+        List<EmployeeDTO> expected = employeeRepository.findProjectedPage(filter, sort, null, 100);
+
+        List<EmployeeDTO> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            List<EmployeeDTO> page = employeeRepository.findProjectedPage(filter, sort, EmployeeCursor.decode(cursor, sort), 7);
+            visited.addAll(page);
+            cursor = page.size() < 7 ? null : EmployeeCursor.encode(sort, sort.valuesOf(page.get(page.size() - 1)));
+        } while (cursor != null);
+
+        assertEquals(46, expected.size());
+        assertEquals(expected.stream().map(EmployeeDTO::getId).toList(), visited.stream().map(EmployeeDTO::getId).toList());
+    }
+
+    private void assertPlanUses(String expected, EmployeeFilter filter, EmployeeSort sort) {
+        EXECUTED.clear();
+        List<EmployeeDTO> page = employeeRepository.findProjectedPage(filter, sort, null, 10);
+        assertFalse(page.isEmpty());
+
+        QueryInfo query = EXECUTED.stream()
+                .filter(info -> info.getQuery().contains("from employees"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        String plan = explain(query);
+        assertTrue(plan.contains(expected), () -> "Expected " + expected + " for " + filter + " but plan was:\n" + plan);
+        assertFalse(plan.contains("tableScan"), () -> "Unexpected table scan for " + filter + ":\n" + plan);
+    }
+
+    private String explain(QueryInfo query) {
+        return jdbcTemplate.execute("explain " + query.getQuery(), (PreparedStatement statement) -> {
+            for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+                try {
+                    operation.getMethod().invoke(statement, operation.getArgs());
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            try (var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EmployeeRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<Department> departments;
+
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        departments = List.of(
+                testEntityManager.persist(new Department(null, "IT", "Information Technology")),
+                testEntityManager.persist(new Department(null, "HR", "Human Resources")),
+                testEntityManager.persist(new Department(null, "FIN", "Finance")));
+    }
+
+    @Test
+    void testFindAll_StatementCountIndependentOfSize() {
+        assertEquals(1, statementsToList(5, () -> employeeRepository.findAll()));
+        assertEquals(1, statementsToList(50, () -> employeeRepository.findAll()));
+    }
+
+    @Test
+    void testStreamAllProjectedBy_StatementCountIndependentOfSize() {
+        assertEquals(1, statementsToList(5, () -> employeeRepository.streamAllProjectedBy().toList()));
+        assertEquals(1, statementsToList(50, () -> employeeRepository.streamAllProjectedBy().toList()));
+    }
+
+    @Test
+    void testFindProjectedByIdGreaterThan_ReadsDepartmentIdWithoutJoin() {
+        persistEmployees(10);
+        testEntityManager.clear();
+        statistics.clear();
+
+        List<EmployeeDTO> page = employeeRepository.findProjectedByIdGreaterThan(0L, Limit.of(4));
+
+        assertEquals(4, page.size());
+        assertNotNull(page.get(0).getDepartmentId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindWithDepartmentById_FetchesDepartmentInSameStatement() {
+        Long id = persistEmployees(1);
+        testEntityManager.clear();
+        statistics.clear();
+
+        Employee employee = employeeRepository.findWithDepartmentById(id).orElseThrow();
+
+        assertEquals("IT", employee.getDepartment().getShortName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private long statementsToList(int count, Supplier<List<?>> query) {
+        persistEmployees(count);
+        testEntityManager.clear();
+        statistics.clear();
+        List<?> result = query.get();
+        assertFalse(result.isEmpty());
+        result.forEach(row -> {
+            if (row instanceof Employee employee) {
+                assertNotNull(employee.getDepartment().getId());
+            }
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long persistEmployees(int count) {
+        Long lastId = null;
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            employee.setCode("EMP-" + sequence++);
+            employee.setFirstName("First" + i);
+            employee.setLastName("Last" + i);
+            employee.setAge(18 + i % 40);
+            employee.setGender(i % 2 == 0 ? "Male" : "Female");
+            employee.setDepartment(departments.get(i % departments.size()));
+            lastId = testEntityManager.persistAndFlush(employee).getId();
+        }
+        return lastId;
+    }
+}
@@ -0,0 +1,149 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.EmployeeChangedEvent;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import com.shakhawat.springbootactuator.employee.EmployeeSearchIndex;
+import com.shakhawat.springbootactuator.employee.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class EmployeeSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long departmentId;
+
+    @BeforeEach
+    void setUp() {
+        departmentId = departmentRepository.save(new Department(null, "IT", "Information Technology")).getId();
+        employeeService.createEmployee(employee("EMP001", "John", "Smith", "12 Lake Road, Dhaka"));
+        employeeService.createEmployee(employee("EMP002", "Jane", "Smithson", "40 Hill Street, Chittagong"));
+        employeeService.createEmployee(employee("HR100", "Karim", "Rahman", "7 Lake View, Sylhet"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+        employeeSearchIndex.rebuild();
+    }
+
+    @Test
+    void testSearch_RanksExactBeforePrefixMatches() {
+        assertEquals(List.of("EMP001", "EMP002"), codes(employeeSearchIndex.search("smith", 10)));
+        assertEquals(List.of("EMP001", "EMP002"), codes(employeeSearchIndex.search("emp", 10)));
+        assertEquals(List.of("EMP002", "EMP001"), codes(employeeSearchIndex.search("EMP002", 10)));
+        assertEquals(List.of("HR100"), codes(employeeSearchIndex.search("lake sylhet", 10)));
+        assertTrue(employeeSearchIndex.search("lake chittagong", 10).isEmpty());
+    }
+
+    @Test
+    void testChangeEvents_OlderThanTheIndexedVersionAreIgnored() {
+        EmployeeDTO first = new EmployeeDTO(1_000_000L, "OPS001", "Nadia", "Islam", "Nadia Islam", 30, "Female", "Banani", departmentId);
+        EmployeeDTO second = new EmployeeDTO(1_000_000L, "OPS001", "Nadia", "Chowdhury", "Nadia Chowdhury", 30, "Female", "Banani", departmentId);
+
+        // The second update's listener runs before the first one's
+        employeeSearchIndex.onEmployeeChanged(new EmployeeChangedEvent(first, second, 2));
+        employeeSearchIndex.onEmployeeChanged(new EmployeeChangedEvent(null, first, 1));
+
+        assertEquals(List.of("OPS001"), codes(employeeSearchIndex.search("chowdhury", 10)));
+        assertTrue(employeeSearchIndex.search("islam", 10).isEmpty());
+
+        // A delete is final, whatever arrives after it
+        employeeSearchIndex.onEmployeeChanged(new EmployeeChangedEvent(second, null, 2));
+        employeeSearchIndex.onEmployeeChanged(new EmployeeChangedEvent(first, second, 2));
+        assertTrue(employeeSearchIndex.search("nadia", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_ToleratesOneTypo() {
+        assertEquals(List.of("EMP001"), codes(employeeSearchIndex.search("jhon", 10)));
+        assertEquals(List.of("HR100"), codes(employeeSearchIndex.search("rahmna", 10)));
+        assertEquals(List.of("HR100"), codes(employeeSearchIndex.search("kairm", 10)));
+        assertTrue(employeeSearchIndex.search("jhno", 10).isEmpty());
+    }
+
+    @Test
+    void testIndex_FollowsUpdatesAndDeletes() {
+        EmployeeDTO karim = employeeService.createEmployee(employee("HR200", "Karim", "Uddin", "9 Park Lane, Khulna"));
+        karim.setLastName("Chowdhury");
+        employeeService.updateEmployee(karim.getId(), karim, null);
+
+        assertEquals(List.of("HR200"), codes(employeeSearchIndex.search("chowdhury", 10)));
+        assertTrue(employeeSearchIndex.search("uddin", 10).isEmpty());
+
+        employeeService.deleteEmployee(karim.getId());
+        assertTrue(employeeSearchIndex.search("chowdhury", 10).isEmpty());
+        assertEquals(2, employeeSearchIndex.stats().deadSlots());
+    }
+
+    @Test
+    void testRebuild_PicksUpDirectWritesAndDropsDeadSlots() throws Exception {
+        jdbcTemplate.update("insert into employees (code, first_name, last_name, full_name, age, gender, address, department_id, version) "
+                + "values ('OPS001', 'Nadia', 'Islam', 'Nadia Islam', 41, 'Female', 'Road 5', ?, 0)", departmentId);
+        assertTrue(employeeSearchIndex.search("nadia", 10).isEmpty());
+
+        mockMvc.perform(post("/mgt-details/search-index").header("Authorization", ADMIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documents").value(4))
+                .andExpect(jsonPath("$.deadSlots").value(0))
+                .andExpect(jsonPath("$.lastRebuildMillis").isNumber());
+        assertEquals(List.of("OPS001"), codes(employeeSearchIndex.search("nadia", 10)));
+    }
+
+    @Test
+    void testSearchEndpoint() throws Exception {
+        mockMvc.perform(get("/api/employees/search").param("q", "smi").param("limit", "1").header("Authorization", ADMIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].code").value("EMP001"));
+        mockMvc.perform(get("/api/employees/search").param("q", " ").header("Authorization", ADMIN))
+                .andExpect(status().isBadRequest());
+    }
+
+    private EmployeeDTO employee(String code, String firstName, String lastName, String address) {
+        return new EmployeeDTO(null, code, firstName, lastName, null, 30, "Male", address, departmentId);
+    }
+
+    private static List<String> codes(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getCode).toList();
+    }
+}
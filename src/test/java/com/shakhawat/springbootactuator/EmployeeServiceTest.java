@@ -1,9 +1,14 @@
 package com.shakhawat.springbootactuator;
 
+import com.shakhawat.springbootactuator.audit.AuditEvent;
 import com.shakhawat.springbootactuator.department.Department;
 import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.EmployeeChangedEvent;
+import com.shakhawat.springbootactuator.employee.EmployeeCursor;
 import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import com.shakhawat.springbootactuator.employee.EmployeePage;
 import com.shakhawat.springbootactuator.employee.EmployeeService;
+import com.shakhawat.springbootactuator.exception.ResourceConflictException;
 import com.shakhawat.springbootactuator.exception.ResourceNotFoundException;
 import com.shakhawat.springbootactuator.employee.Employee;
 import com.shakhawat.springbootactuator.employee.EmployeeRepository;
@@ -13,10 +18,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.List;
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +41,9 @@ class EmployeeServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -46,25 +59,51 @@ class EmployeeServiceTest {
         department.setId(1L);
         // Initialize an Employee and EmployeeDTO for testing
         employee = new Employee(1L, "EMP001", "John", "Doe", "John Doe", 30, "Male", "123 Street", department);
+        employee.setVersion(0L);
         employeeDTO = new EmployeeDTO(1L, "EMP001", "John", "Doe", "John Doe", 30, "Male", "123 Street", 1L);
     }
 
     @Test
     void testCreateEmployee() {
-        when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
-
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(new Department(1L, "IT", "Information Technology")));
+        // Hibernate starts the version of a persisted entity at 0
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> {
+            Employee saved = invocation.getArgument(0);
+            saved.setVersion(0L);
+            return saved;
+        });
+        when(departmentRepository.getReferenceById(1L)).thenReturn(new Department(1L, "IT", "Information Technology"));
         EmployeeDTO createdEmployee = employeeService.createEmployee(employeeDTO);
 
         assertNotNull(createdEmployee);
         assertEquals(employeeDTO.getCode(), createdEmployee.getCode());
         verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(departmentRepository, never()).findById(any());
+    }
+
+    @Test
+    void testCreateEmployee_DepartmentNotFound() {
+        when(departmentRepository.getReferenceById(9L)).thenReturn(new Department(9L, null, null));
+        when(employeeRepository.save(any(Employee.class))).thenThrow(constraintViolation(Employee.DEPARTMENT_CONSTRAINT));
+        employeeDTO.setDepartmentId(9L);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> employeeService.createEmployee(employeeDTO));
+        assertEquals("Department with id: 9 not found", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testCreateEmployee_DuplicateCode() {
+        when(departmentRepository.getReferenceById(1L)).thenReturn(new Department(1L, "IT", "Information Technology"));
+        when(employeeRepository.save(any(Employee.class))).thenThrow(constraintViolation(Employee.CODE_CONSTRAINT.toUpperCase()));
+
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> employeeService.createEmployee(employeeDTO));
+        assertEquals("Duplicate value 'EMP001' for field: code", exception.getMessage());
     }
 
     @Test
     void testGetEmployeeById() {
         //Given
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.findProjectedById(1L)).thenReturn(Optional.of(employeeDTO));
 
         //When
         Optional<EmployeeDTO> foundEmployee = employeeService.getEmployeeById(1L);
@@ -72,37 +111,45 @@ class EmployeeServiceTest {
         //Then
         assertNotNull(foundEmployee);
         assertEquals(employeeDTO.getCode(), foundEmployee.orElseThrow().getCode());
-        verify(employeeRepository, times(1)).findById(1L);
+        verify(employeeRepository, times(1)).findProjectedById(1L);
     }
 
     @Test
     void testGetEmployeeById_NotFound() {
-        when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
+        when(employeeRepository.findProjectedById(1L)).thenReturn(Optional.empty());
 
-        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(1L));
-        assertEquals("Employee not found with id: 1", exception.getMessage());
-        verify(employeeRepository, times(1)).findById(1L);
+        assertTrue(employeeService.getEmployeeById(1L).isEmpty());
+        verify(employeeRepository, times(1)).findProjectedById(1L);
     }
 
     @Test
     void testUpdateEmployee() {
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
-        when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(new Department(1L, "IT", "Information Technology")));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(employee);
+        when(departmentRepository.getReferenceById(1L)).thenReturn(new Department(1L, "IT", "Information Technology"));
 
-        EmployeeDTO updatedEmployee = employeeService.updateEmployee(1L, employeeDTO);
+        EmployeeDTO updatedEmployee = employeeService.updateEmployee(1L, employeeDTO, null);
 
         assertNotNull(updatedEmployee);
         assertEquals(employeeDTO.getFirstName(), updatedEmployee.getFirstName());
         verify(employeeRepository, times(1)).findById(1L);
-        verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(employeeRepository, times(1)).saveAndFlush(any(Employee.class));
+    }
+
+    @Test
+    void testUpdateEmployee_StaleIfMatch() {
+        employee.setVersion(2L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> employeeService.updateEmployee(1L, employeeDTO, "\"1-0\""));
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
     }
 
     @Test
     void testUpdateEmployee_NotFound() {
         when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(1L, employeeDTO));
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(1L, employeeDTO, null));
         verify(employeeRepository, times(1)).findById(1L);
     }
 
@@ -114,6 +161,9 @@ class EmployeeServiceTest {
 
         verify(employeeRepository, times(1)).findById(1L);
         verify(employeeRepository, times(1)).delete(employee);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof AuditEvent audit
+                && audit.action() == AuditEvent.Action.DELETE && audit.entityId().equals(1L) && audit.businessKey().equals("EMP001")));
+        verify(eventPublisher).publishEvent(new EmployeeChangedEvent(employeeDTO, null, 0));
     }
 
     @Test
@@ -129,15 +179,36 @@ class EmployeeServiceTest {
     }
 
     @Test
-    void testGetAllEmployees() {
-        List<Employee> employees = Collections.singletonList(employee);
-        when(employeeRepository.findAll()).thenReturn(employees);
+    void testGetEmployeePage_HasNext() {
+        EmployeeDTO second = new EmployeeDTO(2L, "EMP002", "Jane", "Doe", "Jane Doe", 28, "Female", "456 Street", 1L);
+        when(employeeRepository.findProjectedByIdGreaterThan(0L, Limit.of(2))).thenReturn(Arrays.asList(employeeDTO, second));
+
+        EmployeePage page = employeeService.getEmployeePage(null, 1);
+
+        assertEquals(1, page.content().size());
+        assertTrue(page.hasNext());
+        assertEquals(1L, EmployeeCursor.decode(page.nextCursor()));
+    }
 
-        List<EmployeeDTO> allEmployees = employeeService.getAllEmployees();
+    @Test
+    void testGetEmployeePage_LastPage() {
+        when(employeeRepository.findProjectedByIdGreaterThan(1L, Limit.of(11))).thenReturn(Collections.emptyList());
+
+        EmployeePage page = employeeService.getEmployeePage(EmployeeCursor.encode(1L), 10);
+
+        assertTrue(page.content().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testGetEmployeePage_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeePage("not-a-cursor", 10));
+        verifyNoInteractions(employeeRepository);
+    }
 
-        assertNotNull(allEmployees);
-        assertEquals(1, allEmployees.size());
-        verify(employeeRepository, times(1)).findAll();
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
     }
 }
 
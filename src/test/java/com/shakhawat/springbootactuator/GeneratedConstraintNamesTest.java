@@ -0,0 +1,104 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Constraint violations on a schema created by ddl-auto=update before the constraints were named, as databases
+ * look until the V3 migration has run. Each test renames the constraints to what Hibernate generated, and puts the
+ * mapped names back afterwards for the other tests sharing the context.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class GeneratedConstraintNamesTest {
+
+    private static final String GENERATED_FOREIGN_KEY = "FKgmmx2fpjv6ubxjlxbd1h0r1e5";
+
+    private static final String GENERATED_UNIQUE = "UK_3um79qgwg340lpaw7phtwudtc";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        renameConstraints(Employee.DEPARTMENT_CONSTRAINT, GENERATED_FOREIGN_KEY, Employee.CODE_CONSTRAINT, GENERATED_UNIQUE);
+        department = departmentRepository.save(new Department(null, "IT", "Information Technology"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+        renameConstraints(GENERATED_FOREIGN_KEY, Employee.DEPARTMENT_CONSTRAINT, GENERATED_UNIQUE, Employee.CODE_CONSTRAINT);
+    }
+
+    @Test
+    void testUnknownDepartment_IsNotFound() throws Exception {
+        mockMvc.perform(post("/api/employees").header("Authorization", ADMIN)
+                        .contentType(MediaType.APPLICATION_JSON).content(employeeJson("EMP001", 9999L)))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Department with id: 9999 not found"));
+    }
+
+    @Test
+    void testDuplicateCode_IsConflict() throws Exception {
+        employeeRepository.save(new Employee(null, "EMP001", "John", "Doe", null, 30, "Male", "123 Street", department));
+
+        mockMvc.perform(post("/api/employees").header("Authorization", ADMIN)
+                        .contentType(MediaType.APPLICATION_JSON).content(employeeJson("EMP001", department.getId())))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Duplicate value 'EMP001' for field: code"));
+    }
+
+    @Test
+    void testDeleteDepartmentWithEmployees_IsConflict() throws Exception {
+        employeeRepository.save(new Employee(null, "EMP001", "John", "Doe", null, 30, "Male", "123 Street", department));
+
+        mockMvc.perform(delete("/api/departments/{id}", department.getId()).header("Authorization", ADMIN))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Department with id: " + department.getId() + " still has employees"));
+    }
+
+    private void renameConstraints(String foreignKey, String newForeignKey, String unique, String newUnique) {
+        jdbcTemplate.execute("alter table employees drop constraint " + foreignKey);
+        jdbcTemplate.execute("alter table employees drop constraint " + unique);
+        jdbcTemplate.execute("alter table employees add constraint " + newForeignKey + " foreign key (department_id) references departments (id)");
+        jdbcTemplate.execute("alter table employees add constraint " + newUnique + " unique (code)");
+    }
+
+    private static String employeeJson(String code, Long departmentId) {
+        return """
+                {"code": "%s", "firstName": "John", "lastName": "Doe", "age": 30, "gender": "Male", "address": "123 Street", "departmentId": %d}
+                """.formatted(code, departmentId);
+    }
+}
@@ -0,0 +1,181 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.monitoring.CachedHealthChecks;
+import com.shakhawat.springbootactuator.monitoring.CachedHealthIndicator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        // Only the checks run by the tests count
+        "health.checks.interval=1h",
+        "health.checks.timeout=200ms",
+        "health.checks.max-staleness=2h"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class HealthCheckTest {
+
+    private static final AtomicInteger COUNTING_CALLS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CachedHealthChecks healthChecks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testProbeGroups_AreOpenAndSeparate() throws Exception {
+        mockMvc.perform(get("/mgt-details/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components").doesNotExist());
+        mockMvc.perform(get("/mgt-details/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+
+        mockMvc.perform(get("/mgt-details/health/liveness").header("Authorization", ADMIN))
+                .andExpect(jsonPath("$.components.livenessState.status").value("UP"))
+                .andExpect(jsonPath("$.components.db").doesNotExist());
+        mockMvc.perform(get("/mgt-details/health/readiness").header("Authorization", ADMIN))
+                .andExpect(jsonPath("$.components.readinessState.status").value("UP"))
+                .andExpect(jsonPath("$.components.db.status").value("UP"))
+                .andExpect(jsonPath("$.components.db.details.checkedAt").exists());
+
+        mockMvc.perform(get("/mgt-details/health"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testRequests_AreServedFromTheLastCheck() throws Exception {
+        CachedHealthIndicator counting = indicator("counting");
+        counting.refresh().join();
+        int calls = COUNTING_CALLS.get();
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/mgt-details/health").header("Authorization", ADMIN))
+                    .andExpect(jsonPath("$.components.counting.details.calls").value(calls));
+        }
+        assertEquals(calls, COUNTING_CALLS.get());
+
+        counting.refresh().join();
+        assertEquals(calls + 1, COUNTING_CALLS.get());
+        assertTrue(meterRegistry.get(CachedHealthIndicator.DURATION_METRIC)
+                .tag("contributor", "counting").tag("status", "UP").timer().count() > 0);
+    }
+
+    @Test
+    void testSlowCheck_IsReportedDownAfterTimeout() throws Exception {
+        // The check started at startup is reported down once it has run past the timeout
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> indicator("slow").health().getStatus(), Status.DOWN::equals);
+
+        mockMvc.perform(get("/mgt-details/health").header("Authorization", ADMIN))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.components.slow.status").value("DOWN"))
+                .andExpect(jsonPath("$.components.slow.details.error", startsWith("Timed out")))
+                .andExpect(jsonPath("$.components.db.status").value("UP"));
+        // The slow check is not part of readiness
+        mockMvc.perform(get("/mgt-details/health/readiness"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testStaleResult_IsReportedDown() {
+        MutableClock clock = new MutableClock();
+        CachedHealthIndicator indicator = new CachedHealthIndicator("test", () -> Health.up().build(),
+                Executors.newSingleThreadExecutor(), Duration.ofSeconds(1), Duration.ofSeconds(30), clock);
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        clock.advance(Duration.ofSeconds(31));
+        Health stale = indicator.health();
+        assertEquals(Status.DOWN, stale.getStatus());
+        assertTrue(stale.getDetails().get("error").toString().startsWith("Last checked"));
+
+        indicator.refresh().join();
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    private CachedHealthIndicator indicator(String name) {
+        return healthChecks.getIndicators().stream()
+                .filter(indicator -> indicator.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @TestConfiguration
+    static class HealthIndicators {
+
+        @Bean
+        HealthIndicator countingHealthIndicator() {
+            return () -> Health.up().withDetail("calls", COUNTING_CALLS.incrementAndGet()).build();
+        }
+
+        @Bean
+        HealthIndicator slowHealthIndicator() {
+            CountDownLatch never = new CountDownLatch(1);
+            return () -> {
+                try {
+                    never.await(3, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return Health.up().build();
+            };
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.exception.IdempotencyKeyReusedException;
+import com.shakhawat.springbootactuator.exception.ResourceConflictException;
+import com.shakhawat.springbootactuator.web.IdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private IdempotencyStore idempotencyStore;
+
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        executions = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRetry_ReplaysFirstResponse() {
+        ResponseEntity<?> first = idempotencyStore.execute("key-1", "create", "payload", this::create);
+        ResponseEntity<?> retry = idempotencyStore.execute("key-1", "create", "payload", this::create);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testKeyReusedWithDifferentPayload_IsRejected() {
+        idempotencyStore.execute("key-1", "create", "payload", this::create);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyStore.execute("key-1", "create", "other payload", this::create));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testRetryWhileInProgress_IsConflict() {
+        idempotencyStore.execute("key-1", "create", "payload", () -> {
+            assertThrows(ResourceConflictException.class,
+                    () -> idempotencyStore.execute("key-1", "create", "payload", this::create));
+            return create();
+        });
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testFailedAttempt_IsForgotten() {
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute("key-1", "create", "payload", () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        idempotencyStore.execute("key-1", "create", "payload", this::create);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testKeys_AreScopedByCallerAndOperation() {
+        idempotencyStore.execute("key-1", "create", "payload", this::create);
+        idempotencyStore.execute("key-1", "import", "payload", this::create);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("user", null));
+        idempotencyStore.execute("key-1", "create", "payload", this::create);
+        idempotencyStore.execute(null, "create", "payload", this::create);
+
+        assertEquals(4, executions.get());
+    }
+
+    private ResponseEntity<?> create() {
+        return ResponseEntity.status(HttpStatus.CREATED).body("created-" + executions.incrementAndGet());
+    }
+}
@@ -0,0 +1,83 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.monitoring.LatencyEndpoint;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyEndpointTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final LatencyEndpoint latencyEndpoint = new LatencyEndpoint(meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        record(httpTimer("/api/employees"), 5, 10, 400);
+        record(httpTimer("/api/departments"), 5, 8, 20);
+        record(httpTimer("/api/employees/{id}"), 2, 3, 4);
+        // Registered but never called, so left out of the ranking
+        httpTimer("/api/employees/search");
+        record(Timer.builder(LatencyEndpoint.SERVICE_TIMER)
+                .tags("class", "EmployeeService", "method", "getEmployeeById", "exception", "none")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry), 1, 2);
+    }
+
+    @Test
+    void testLatency_ListsTheSlowestRoutesFirst() {
+        Map<String, Object> latency = latencyEndpoint.latency(2);
+
+        List<Map<String, Object>> routes = list(latency.get("routes"));
+        assertEquals(2, routes.size());
+        assertEquals("/api/employees", routes.get(0).get("uri"));
+        assertEquals("/api/departments", routes.get(1).get("uri"));
+        Map<String, Object> slowest = routes.get(0);
+        assertEquals("GET", slowest.get("method"));
+        assertEquals("200", slowest.get("status"));
+        assertEquals(3L, slowest.get("count"));
+        assertEquals(400.0, (double) slowest.get("maxMillis"), 0.001);
+        assertEquals(List.of("p50", "p95", "p99"), List.copyOf(((Map<?, ?>) slowest.get("percentilesMillis")).keySet()));
+    }
+
+    @Test
+    void testLatency_SummarizesServiceMethodsAndHistogramFootprint() {
+        Map<String, Object> latency = latencyEndpoint.latency(null);
+
+        assertEquals(3, list(latency.get("routes")).size());
+        Map<String, Object> serviceMethod = list(latency.get("serviceMethods")).get(0);
+        assertEquals("EmployeeService", serviceMethod.get("class"));
+        assertEquals("getEmployeeById", serviceMethod.get("method"));
+        assertEquals(2L, serviceMethod.get("count"));
+        Map<?, ?> histograms = (Map<?, ?>) latency.get("histograms");
+        assertEquals(5, histograms.get("timers"));
+        // Three SLO buckets per route timer; the service timer has none
+        assertEquals(12L, histograms.get("buckets"));
+    }
+
+    private Timer httpTimer(String uri) {
+        return Timer.builder(LatencyEndpoint.HTTP_TIMER)
+                .tags("method", "GET", "uri", uri, "status", "200")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .serviceLevelObjectives(Duration.ofMillis(50), Duration.ofMillis(250), Duration.ofSeconds(1))
+                .register(meterRegistry);
+    }
+
+    private static void record(Timer timer, long... millis) {
+        for (long value : millis) {
+            timer.record(Duration.ofMillis(value));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> list(Object value) {
+        return (List<Map<String, Object>>) value;
+    }
+}
@@ -0,0 +1,132 @@
+package com.shakhawat.springbootactuator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.EmployeeDTO;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PayloadFormatTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Long departmentId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        departmentId = departmentRepository.save(new Department(null, "IT", "Information Technology")).getId();
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            employees.add(new EmployeeDTO(null, "EMP" + i, "First" + i, "Last" + i, null, 30, "Male", "Street " + i, departmentId));
+        }
+        HttpResponse<byte[]> created = send(HttpRequest.newBuilder(uri("/api/employees/bulk"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/cbor")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(new CBORMapper().writeValueAsBytes(employees))));
+        assertEquals(200, created.statusCode());
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testEmployeeList_NegotiatesBinaryFormats() throws Exception {
+        assertEquals(50, readEmployees("application/cbor", new CBORMapper()).size());
+        assertEquals(50, readEmployees("application/x-jackson-smile", new SmileMapper()).size());
+        assertEquals(50, readEmployees("application/json", new ObjectMapper()).size());
+    }
+
+    @Test
+    void testEmployeeList_StreamsNdjson() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/employees"))
+                .header(HttpHeaders.ACCEPT, "application/x-ndjson"));
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/x-ndjson", response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(null));
+        String body = new String(response.body(), StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(50, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        for (int i = 0; i < lines.length; i++) {
+            EmployeeDTO employee = mapper.readValue(lines[i], EmployeeDTO.class);
+            assertEquals("EMP" + i, employee.getCode());
+            assertEquals(departmentId, employee.getDepartmentId());
+        }
+    }
+
+    @Test
+    void testLargeJsonResponse_IsGzipped() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/employees"))
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            byte[] json = body.readAllBytes();
+            assertTrue(json.length > response.body().length);
+            assertEquals(50, new ObjectMapper().readTree(json).size());
+        }
+    }
+
+    @Test
+    void testSmallResponse_IsNotCompressed() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/departments/" + departmentId))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+    }
+
+    private List<EmployeeDTO> readEmployees(String mediaType, ObjectMapper mapper) throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/employees")).header(HttpHeaders.ACCEPT, mediaType));
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow().startsWith(mediaType));
+        return List.of(mapper.readValue(response.body(), EmployeeDTO[].class));
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.header(HttpHeaders.AUTHORIZATION, ADMIN).build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,112 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.config.DataSourceProxyConfig;
+import com.shakhawat.springbootactuator.monitoring.QueryMetricsFilter;
+import com.shakhawat.springbootactuator.monitoring.QueryStatsAsyncSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private QueryMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query-metrics;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = (DataSource) DataSourceProxyConfig.dataSourceProxyPostProcessor(new MockEnvironment())
+                .postProcessAfterInitialization(h2, "dataSource");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists items (id int primary key)");
+        jdbcTemplate.execute("delete from items");
+        jdbcTemplate.batchUpdate("insert into items values (?)", List.of(new Object[]{1}, new Object[]{2}, new Object[]{3}));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryMetricsFilter(meterRegistry);
+    }
+
+    @Test
+    void testFilter_RecordsStatementsRowsAndTimePerRoute() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/items/{id}");
+            jdbcTemplate.queryForList("select id from items", Integer.class);
+            jdbcTemplate.queryForObject("select count(*) from items", Long.class);
+        });
+
+        assertEquals(2.0, meterRegistry.get("http.server.requests.jdbc.statements").tag("uri", "/api/items/{id}").summary().totalAmount());
+        assertEquals(4.0, meterRegistry.get("http.server.requests.jdbc.rows").tag("uri", "/api/items/{id}").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("http.server.requests.jdbc.time").tag("method", "GET").timer().count());
+    }
+
+    @Test
+    void testFilter_CountsEveryStatementOfABatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/items");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                jdbcTemplate.batchUpdate("insert into items values (?)", List.of(new Object[]{4}, new Object[]{5})));
+
+        assertEquals(2.0, meterRegistry.get("http.server.requests.jdbc.statements").tag("uri", "UNKNOWN").summary().totalAmount());
+    }
+
+    @Test
+    void testAsyncRequest_IsRecordedWithItsAsyncStatementsOnCompletion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/export");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/items/export");
+            req.startAsync();
+        });
+        assertNull(meterRegistry.find("http.server.requests.jdbc.statements").summary());
+
+        // The stream body runs on another thread, wrapped by the interceptor as WebAsyncManager does
+        QueryStatsAsyncSupport asyncSupport = new QueryStatsAsyncSupport();
+        NativeWebRequest webRequest = new ServletWebRequest(request);
+        Callable<Object> task = () -> jdbcTemplate.queryForList("select id from items", Integer.class);
+        CompletableFuture.supplyAsync(() -> {
+            asyncSupport.preProcess(webRequest, task);
+            try {
+                return task.call();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            } finally {
+                asyncSupport.postProcess(webRequest, task, null);
+            }
+        }).get();
+        request.getAsyncContext().complete();
+
+        assertEquals(1.0, meterRegistry.get("http.server.requests.jdbc.statements").tag("uri", "/api/items/export").summary().totalAmount());
+        assertEquals(3.0, meterRegistry.get("http.server.requests.jdbc.rows").tag("uri", "/api/items/export").summary().totalAmount());
+    }
+
+    @Test
+    void testStatementsOutsideRequest_AreNotAttributed() throws Exception {
+        jdbcTemplate.queryForList("select id from items", Integer.class);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/items"), new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        assertEquals(0.0, meterRegistry.get("http.server.requests.jdbc.statements").summary().totalAmount());
+    }
+}
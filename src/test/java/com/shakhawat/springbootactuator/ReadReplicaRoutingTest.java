@@ -0,0 +1,168 @@
+package com.shakhawat.springbootactuator;
+
+import com.jayway.jsonpath.JsonPath;
+import com.shakhawat.springbootactuator.datasource.Replica;
+import com.shakhawat.springbootactuator.datasource.ReplicaRouter;
+import com.shakhawat.springbootactuator.datasource.ReplicaSet;
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static com.shakhawat.springbootactuator.TestCredentials.USER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory databases stand in for the primary and a replica. Replication is simulated by copying the primary
+ * into the replica with H2's {@code SCRIPT} and {@code RUNSCRIPT}, so a row written after the last copy is only on
+ * the primary.
+ */
+@SpringBootTest(properties = {
+        "datasource.replicas.urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        // Only the checks run by the tests count
+        "datasource.replicas.check-interval=1h",
+        "datasource.replicas.max-lag=2h",
+        "datasource.replicas.read-your-writes-window=3h"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    private static final String SNAPSHOT = "target/routing-replica.sql";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplicaSet replicaSet;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        department = departmentRepository.save(new Department(null, "IT", "Information Technology"));
+        replicate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testReadOnlyServiceMethods_ReadFromReplica() throws Exception {
+        Employee employee = employeeRepository.save(new Employee(null, "EMP001", "John", "Doe", null, 30, "Male", "123 Street", department));
+        replicate();
+        replica().update("update employees set first_name = 'Replica' where id = ?", employee.getId());
+        double before = routed("replica-1", "read");
+
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()).header("Authorization", USER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Replica"));
+
+        assertTrue(routed("replica-1", "read") > before);
+    }
+
+    @Test
+    void testWriter_ReadsOwnWriteFromPrimaryUntilReplicated() throws Exception {
+        String created = mockMvc.perform(post("/api/employees").header("Authorization", ADMIN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"code": "EMP002", "firstName": "Jane", "lastName": "Doe", "age": 28, "gender": "Female", "address": "456 Avenue", "departmentId": %d}
+                                """.formatted(department.getId())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = ((Number) JsonPath.read(created, "$.id")).longValue();
+
+        // Other principals read the replica, which has not received the insert yet
+        mockMvc.perform(get("/api/employees/{id}", id).header("Authorization", USER))
+                .andExpect(status().isNotFound());
+        double sticky = routed("primary", "read-your-writes");
+        mockMvc.perform(get("/api/employees/{id}", id).header("Authorization", ADMIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("EMP002"));
+        assertTrue(routed("primary", "read-your-writes") > sticky);
+
+        replicate();
+        mockMvc.perform(get("/api/employees/{id}", id).header("Authorization", USER))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testLaggingReplica_IsSkippedUntilItCatchesUp() throws Exception {
+        Employee employee = employeeRepository.save(new Employee(null, "EMP003", "John", "Doe", null, 30, "Male", "123 Street", department));
+        replica().update("update replica_heartbeat set beat_at = ?", System.currentTimeMillis() - 3 * 3_600_000L);
+        replicaSet.check();
+        Replica replica = replicaSet.getReplicas().get(0);
+        assertFalse(replica.isAvailable());
+
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()).header("Authorization", USER))
+                .andExpect(status().isOk());
+
+        replicate();
+        assertTrue(replica.isAvailable());
+        assertTrue(replica.getLag().toHours() < 2);
+    }
+
+    @Test
+    void testCachedDepartmentReads_StayOnPrimary() throws Exception {
+        Department created = departmentRepository.save(new Department(null, "HR", "Human Resources"));
+
+        mockMvc.perform(get("/api/departments/{id}", created.getId()).header("Authorization", USER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shortName").value("HR"));
+    }
+
+    @Test
+    void testEndpoint_ShowsReplicaState() throws Exception {
+        mockMvc.perform(get("/mgt-details/datasources").header("Authorization", ADMIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.primary.pool.maximumSize").isNumber())
+                .andExpect(jsonPath("$.replicas[0].name").value("replica-1"))
+                .andExpect(jsonPath("$.replicas[0].available").value(true));
+    }
+
+    private void replicate() {
+        jdbcTemplate.execute("script to '" + SNAPSHOT + "'");
+        replica().execute("drop all objects");
+        replica().execute("runscript from '" + SNAPSHOT + "'");
+        replicaSet.check();
+    }
+
+    private JdbcTemplate replica() {
+        return new JdbcTemplate(replicaSet.getReplicas().get(0).getDataSource());
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get(ReplicaRouter.ROUTING_METRIC).tag("target", target).tag("reason", reason).counter().count();
+    }
+}
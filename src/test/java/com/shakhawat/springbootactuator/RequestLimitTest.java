@@ -0,0 +1,231 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.web.AdaptiveConcurrencyLimit;
+import com.shakhawat.springbootactuator.web.RequestLimiter;
+import com.shakhawat.springbootactuator.web.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static com.shakhawat.springbootactuator.TestCredentials.USER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "request-limits.requests-per-second=0.01",
+        "request-limits.burst=2"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class RequestLimitTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RequestLimiter requestLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testTokenBucket_AllowsBurstThenRefillsAtRate() {
+        TokenBucket bucket = new TokenBucket(2, 0);
+
+        assertEquals(0, bucket.tryAcquire(0, 1, 2));
+        assertEquals(0, bucket.tryAcquire(0, 1, 2));
+        assertEquals(SECOND, bucket.tryAcquire(0, 1, 2));
+        assertEquals(SECOND / 2, bucket.tryAcquire(SECOND / 2, 1, 2));
+        assertEquals(0, bucket.tryAcquire(SECOND, 1, 2));
+        // Idle time never fills the bucket past its capacity
+        assertEquals(0, bucket.tryAcquire(100 * SECOND, 1, 2));
+        assertEquals(0, bucket.tryAcquire(100 * SECOND, 1, 2));
+        assertTrue(bucket.tryAcquire(100 * SECOND, 1, 2) > 0);
+    }
+
+    @Test
+    void testConcurrencyLimit_RejectsOverLimitAndBacksOffOnSlowResponses() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 20, Duration.ofMillis(100));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+
+        limit.release(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(9, limit.getLimit());
+        assertEquals(9, limit.getInFlight());
+        assertFalse(limit.tryAcquire());
+
+        for (int i = 0; i < 50; i++) {
+            limit.release(TimeUnit.SECONDS.toNanos(1));
+            limit.tryAcquire();
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void testConcurrencyLimit_GrowsWhileBusyAndFast() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 6, Duration.ofMillis(100));
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(TimeUnit.MILLISECONDS.toNanos(1));
+            limit.release(TimeUnit.MILLISECONDS.toNanos(1));
+            limit.release(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertEquals(6, limit.getLimit());
+
+        // A single caller never uses half the limit, so the limit stops growing
+        AdaptiveConcurrencyLimit idle = new AdaptiveConcurrencyLimit(4, 1, 100, Duration.ofMillis(100));
+        for (int i = 0; i < 100; i++) {
+            idle.tryAcquire();
+            idle.release(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertEquals(4, idle.getLimit());
+    }
+
+    @Test
+    void testExpensiveRoutes_MatchMethodAndPath() {
+        assertTrue(requestLimiter.isExpensive("GET", "/api/employees", null));
+        assertTrue(requestLimiter.isExpensive("GET", "/api/employees/search", null));
+        assertFalse(requestLimiter.isExpensive("POST", "/api/employees", null));
+        assertFalse(requestLimiter.isExpensive("GET", "/api/employees/1", null));
+
+        RequestLimiter anyMethod = new RequestLimiter(new SimpleMeterRegistry(), true, 1, 1, 1, 1, Duration.ofSeconds(1),
+                new String[]{"/api/departments/**", " delete  /api/employees/{id}"}, 1, new String[0]);
+        assertTrue(anyMethod.isExpensive("GET", "/api/departments/1", null));
+        assertTrue(anyMethod.isExpensive("POST", "/api/departments", null));
+        assertTrue(anyMethod.isExpensive("DELETE", "/api/employees/1", null));
+        assertFalse(anyMethod.isExpensive("GET", "/api/employees/1", null));
+    }
+
+    @Test
+    void testLongRunningRoutes_MatchAcceptedMediaType() {
+        assertTrue(requestLimiter.isLongRunning("GET", "/api/employees", "application/x-ndjson"));
+        assertTrue(requestLimiter.isLongRunning("GET", "/api/employees", "application/json;q=0.5, application/x-ndjson"));
+        assertFalse(requestLimiter.isLongRunning("GET", "/api/employees", null));
+        assertFalse(requestLimiter.isLongRunning("GET", "/api/employees", "*/*"));
+        assertFalse(requestLimiter.isLongRunning("GET", "/api/employees", "application/json"));
+        assertFalse(requestLimiter.isLongRunning("GET", "/api/employees", "not a media type"));
+        assertTrue(requestLimiter.isLongRunning("GET", "/api/employees/export", null));
+        assertTrue(requestLimiter.isLongRunning("POST", "/api/employees/bulk", "application/json"));
+        assertFalse(requestLimiter.isExpensive("POST", "/api/employees/bulk", null));
+    }
+
+    @Test
+    void testLongRunningRoutes_HaveFixedCapOutsideTheAdaptiveLimit() throws Exception {
+        RequestLimiter.Settings original = requestLimiter.getSettings();
+        try {
+            mockMvc.perform(post("/mgt-details/request-limits").header(HttpHeaders.AUTHORIZATION, ADMIN)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"requestsPerSecond\": 1000, \"longRunningConcurrency\": 1}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.settings.longRunningConcurrency").value(1));
+            int limit = requestLimiter.getConcurrencyLimit().getLimit();
+
+            assertTrue(requestLimiter.tryAcquireLongRunning());
+            try {
+                double before = rejected("long-running");
+                mockMvc.perform(get("/api/employees/export").header(HttpHeaders.AUTHORIZATION, ADMIN))
+                        .andExpect(status().isServiceUnavailable())
+                        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+                assertEquals(before + 1, rejected("long-running"));
+                // The paged list on the same path is not held back by the streams
+                mockMvc.perform(get("/api/employees").header(HttpHeaders.AUTHORIZATION, ADMIN))
+                        .andExpect(status().isOk());
+            } finally {
+                requestLimiter.releaseLongRunning();
+            }
+
+            // A stream holds its slot until the async request completes
+            MvcResult stream = mockMvc.perform(get("/api/employees").header(HttpHeaders.AUTHORIZATION, ADMIN)
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            assertEquals(1, requestLimiter.getLongRunningInFlight());
+            mockMvc.perform(asyncDispatch(stream)).andExpect(status().isOk());
+            assertEquals(0, requestLimiter.getLongRunningInFlight());
+            assertEquals(limit, requestLimiter.getConcurrencyLimit().getLimit());
+            assertEquals(0, requestLimiter.getConcurrencyLimit().getInFlight());
+        } finally {
+            requestLimiter.update(original);
+        }
+    }
+
+    @Test
+    void testPrincipalOverRate_GetsTooManyRequestsWithRetryAfter() throws Exception {
+        double before = rejected("rate-limit");
+        mockMvc.perform(get("/api/departments").header(HttpHeaders.AUTHORIZATION, USER)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/departments").header(HttpHeaders.AUTHORIZATION, USER)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/departments").header(HttpHeaders.AUTHORIZATION, USER))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        // Buckets are per principal, and actuator endpoints are never limited
+        mockMvc.perform(get("/api/departments").header(HttpHeaders.AUTHORIZATION, ADMIN)).andExpect(status().isOk());
+        mockMvc.perform(get("/mgt-details/request-limits").header(HttpHeaders.AUTHORIZATION, ADMIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.settings.burst").value(2));
+        mockMvc.perform(get("/mgt-details/request-limits").header(HttpHeaders.AUTHORIZATION, ADMIN))
+                .andExpect(status().isOk());
+        assertEquals(before + 1, rejected("rate-limit"));
+    }
+
+    @Test
+    void testEndpointUpdate_ChangesLimitsAtRuntime() throws Exception {
+        RequestLimiter.Settings original = requestLimiter.getSettings();
+        try {
+            mockMvc.perform(post("/mgt-details/request-limits").header(HttpHeaders.AUTHORIZATION, ADMIN)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"maxConcurrency\": 1, \"minConcurrency\": 1, \"latencyThreshold\": \"250ms\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.concurrencyLimit").value(1))
+                    .andExpect(jsonPath("$.settings.burst").value(2));
+            assertEquals(Duration.ofMillis(250), requestLimiter.getSettings().latencyThreshold());
+
+            // With the only slot taken, an expensive route is shed while a cheap one is not
+            assertTrue(requestLimiter.tryAcquireConcurrency());
+            try {
+                double before = rejected("concurrency");
+                mockMvc.perform(get("/api/employees").header(HttpHeaders.AUTHORIZATION, ADMIN))
+                        .andExpect(status().isServiceUnavailable())
+                        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+                assertEquals(before + 1, rejected("concurrency"));
+            } finally {
+                requestLimiter.releaseConcurrency(0);
+            }
+
+            mockMvc.perform(post("/mgt-details/request-limits").header(HttpHeaders.AUTHORIZATION, ADMIN)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"burst\": 0}"))
+                    .andExpect(status().isBadRequest());
+        } finally {
+            requestLimiter.update(original);
+        }
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get(RequestLimiter.REJECTED_METRIC).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,105 @@
+package com.shakhawat.springbootactuator;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SchemaMigrationTest {
+
+    /** The tables as ddl-auto=update created them: a generated unique constraint and an unnamed foreign key. */
+    private static final String UPDATE_SCHEMA = """
+            create table departments (id bigint not null auto_increment, short_name varchar(255) not null,
+                name varchar(255) not null, primary key (id));
+            create table employees (id bigint not null auto_increment, code varchar(255) not null,
+                first_name varchar(255) not null, last_name varchar(255) not null, full_name varchar(255),
+                age integer not null, gender varchar(255) not null, address varchar(255),
+                department_id bigint not null, primary key (id),
+                constraint UK_3um79qgwg340lpaw7phtwudtc unique (code),
+                foreign key (department_id) references departments (id));
+            insert into departments (id, short_name, name) values (1, 'IT', 'Information Technology');
+            insert into employees (id, code, first_name, last_name, full_name, age, gender, address, department_id)
+                values (1, 'EMP001', 'John', 'Doe', 'John Doe', 30, 'Male', '123 Street', 1);
+            """;
+
+    @Test
+    void testMigrate_NamesConstraintsOfBaselinedDatabase() {
+        DataSource dataSource = dataSource("migrate-baselined");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(UPDATE_SCHEMA);
+
+        flyway(dataSource).migrate();
+
+        assertEquals(List.of("EMPLOYEES_DEPARTMENT_FK"), constraints(jdbcTemplate, "FOREIGN KEY"));
+        assertEquals(List.of("EMPLOYEES_CODE_UNIQUE"), constraints(jdbcTemplate, "UNIQUE"));
+        assertEquals(0L, jdbcTemplate.queryForObject("select version from employees where id = 1", Long.class));
+    }
+
+    @Test
+    void testMigrate_LeavesFreshSchemaUnchanged() {
+        DataSource dataSource = dataSource("migrate-fresh");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        flyway(dataSource).migrate();
+
+        assertEquals(List.of("EMPLOYEES_DEPARTMENT_FK"), constraints(jdbcTemplate, "FOREIGN KEY"));
+        assertEquals(List.of("EMPLOYEES_CODE_UNIQUE"), constraints(jdbcTemplate, "UNIQUE"));
+    }
+
+    @Test
+    void testProdProfile_ValidatesMappingsAgainstMigratedBaselinedDatabase() {
+        JdbcTemplate seed = new JdbcTemplate(dataSource("migrate-validated"));
+        seed.execute(UPDATE_SCHEMA);
+
+        SpringApplication application = new SpringApplication(SpringBootActuatorApplication.class);
+        application.setAdditionalProfiles("prod");
+        try (ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:migrate-validated;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                // See StartupBudgetTest: keeps the second-level cache of the cached test contexts open
+                "--spring.jpa.properties.hibernate.javax.cache.uri=classpath:application.conf",
+                "--audit.enabled=false")) {
+            // Waits for the background bootstrap, which fails on a mapping ddl-auto=validate rejects
+            context.getBean(EntityManagerFactory.class).createEntityManager().close();
+
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            assertEquals(List.of("0", "1", "2", "3", "4"), jdbcTemplate.queryForList("""
+                    select "version" from "flyway_schema_history"
+                    where "version" is not null and "success" = true order by "installed_rank"
+                    """, String.class));
+            assertEquals("John Doe", jdbcTemplate.queryForObject("select full_name from employees where code = 'EMP001'", String.class));
+        }
+    }
+
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    /** The settings of the prod profile. */
+    private static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+
+    private static List<String> constraints(JdbcTemplate jdbcTemplate, String type) {
+        return jdbcTemplate.queryForList("""
+                select constraint_name from information_schema.table_constraints
+                where table_name = 'EMPLOYEES' and constraint_type = ? order by constraint_name
+                """, String.class, type);
+    }
+}
@@ -0,0 +1,114 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Department department;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        department = departmentRepository.save(new Department(null, "IT", "Information Technology"));
+        employee = employeeRepository.save(new Employee(null, "EMP001", "John", "Doe", null, 30, "Male", "123 Street", department));
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testEmployeeFindById_SecondCallSkipsDatabase() {
+        employeeRepository.findById(employee.getId()).orElseThrow();
+        long statementsAfterFirstCall = statistics.getPrepareStatementCount();
+
+        Employee cached = employeeRepository.findById(employee.getId()).orElseThrow();
+
+        assertEquals("EMP001", cached.getCode());
+        assertEquals(1, statementsAfterFirstCall);
+        assertEquals(statementsAfterFirstCall, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void testDepartmentFindById_SecondCallSkipsDatabase() {
+        departmentRepository.findById(department.getId()).orElseThrow();
+        departmentRepository.findById(department.getId()).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testEmployeeUpdate_RefreshesCachedEntity() {
+        Employee loaded = employeeRepository.findById(employee.getId()).orElseThrow();
+        loaded.setAddress("456 Avenue");
+        employeeRepository.save(loaded);
+        statistics.clear();
+
+        Employee reloaded = employeeRepository.findById(employee.getId()).orElseThrow();
+
+        assertEquals("456 Avenue", reloaded.getAddress());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testVersionLookup_ServedFromQueryCacheUntilEmployeesChange() {
+        employeeRepository.findVersionById(employee.getId());
+        employeeRepository.findVersionById(employee.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        employeeRepository.save(new Employee(null, "EMP002", "Jane", "Doe", null, 28, "Female", "456 Street", department));
+        statistics.clear();
+
+        employeeRepository.findVersionById(employee.getId());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void testListingQuery_IsNotQueryCached() {
+        employeeRepository.findProjectedByIdGreaterThan(0L, Limit.of(10));
+        employeeRepository.findProjectedByIdGreaterThan(0L, Limit.of(10));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getQueryCachePutCount());
+    }
+}
@@ -0,0 +1,75 @@
+package com.shakhawat.springbootactuator;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.startup.StartupEndpoint;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Log4j2
+class StartupBudgetTest {
+
+    /**
+     * Wall-clock budget for the prod profile against an in-memory database. A single-core runner needs about 20s;
+     * tighten it with -Dstartup.budget-seconds on known hardware.
+     */
+    private static final Duration BUDGET = Duration.ofSeconds(Long.getLong("startup.budget-seconds", 40));
+
+    @Test
+    void testProdProfile_StartsWithinBudgetAndRecordsSteps() {
+        SpringApplication application = new SpringApplication(SpringBootActuatorApplication.class);
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(SpringBootActuatorApplication.STARTUP_STEPS_CAPACITY);
+        application.setApplicationStartup(startup);
+        application.setAdditionalProfiles("prod");
+
+        long started = System.nanoTime();
+        try (ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                // A cache manager of its own: closing this context would otherwise close the second-level cache
+                // regions of the test contexts still cached by Spring, which share the provider's default manager
+                "--spring.jpa.properties.hibernate.javax.cache.uri=classpath:application.conf",
+                "--audit.enabled=false")) {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            // Flyway created the schema and Hibernate validated the mappings against it
+            Integer migrations = context.getBean(JdbcTemplate.class)
+                    .queryForObject("select count(*) from \"flyway_schema_history\" where \"version\" = '1' and \"success\" = true", Integer.class);
+            assertEquals(1, migrations);
+
+            StartupTimeline timeline = context.getBean(StartupEndpoint.class).startupSnapshot().getTimeline();
+            assertFalse(timeline.getEvents().isEmpty());
+            log.info("Startup took {}ms; slowest bean instantiations:", elapsed.toMillis());
+            timeline.getEvents().stream()
+                    .filter(event -> event.getStartupStep().getName().equals("spring.beans.instantiate"))
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(10)
+                    .forEach(event -> log.info("  {}ms {}", event.getDuration().toMillis(), beanName(event)));
+            assertTrue(elapsed.compareTo(BUDGET) < 0, "Startup took " + elapsed + ", budget is " + BUDGET);
+        }
+    }
+
+    private static String beanName(StartupTimeline.TimelineEvent event) {
+        for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+            if (tag.getKey().equals("beanName")) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
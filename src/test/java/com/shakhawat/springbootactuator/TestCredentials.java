@@ -0,0 +1,21 @@
+package com.shakhawat.springbootactuator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Authorization header values for the in-memory users defined in SecurityConfig.
+ */
+final class TestCredentials {
+
+    static final String ADMIN = basic("admin", "admin");
+
+    static final String USER = basic("user", "user");
+
+    private TestCredentials() {
+    }
+
+    static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.monitoring.VirtualThreadPinningMonitor;
+import com.shakhawat.springbootactuator.monitoring.VirtualThreadPinningMonitor.PinnedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Feeds the monitor a JFR event of the test's own, shaped like {@code jdk.VirtualThreadPinned}, so the event handling
+ * is covered on Java versions without virtual threads.
+ */
+class VirtualThreadPinningMonitorTest {
+
+    private static final String EVENT_NAME = "com.shakhawat.springbootactuator.TestPinned";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(20), EVENT_NAME);
+
+    @Name(EVENT_NAME)
+    static class TestPinnedEvent extends Event {
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void testPinnedEventsOverThreshold_AreTimedAndKept() throws InterruptedException {
+        monitor.start();
+
+        pin(0);
+        pin(50);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> monitor.getPinnedCount() > 0);
+        assertEquals(1, monitor.getPinnedCount());
+        assertEquals(1, meterRegistry.get("jvm.threads.virtual.pinned").timer().count());
+        assertTrue(monitor.getPinnedTimer().totalTime(TimeUnit.MILLISECONDS) >= 50);
+        PinnedEvent event = monitor.getRecentEvents().get(0);
+        assertTrue(event.durationMillis() >= 50);
+        assertEquals(Thread.currentThread().getName(), event.thread());
+        assertTrue(event.stackTrace().get(0).startsWith(VirtualThreadPinningMonitorTest.class.getName() + ".pin:"),
+                event.stackTrace().toString());
+    }
+
+    @Test
+    void testStop_EndsTheRecording() {
+        monitor.start();
+        assertTrue(monitor.isRunning());
+
+        monitor.stop();
+
+        assertFalse(monitor.isRunning());
+    }
+
+    private static void pin(long millis) throws InterruptedException {
+        TestPinnedEvent event = new TestPinnedEvent();
+        event.begin();
+        Thread.sleep(millis);
+        event.commit();
+    }
+}
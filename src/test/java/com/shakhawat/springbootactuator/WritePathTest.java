@@ -0,0 +1,157 @@
+package com.shakhawat.springbootactuator;
+
+import com.shakhawat.springbootactuator.department.Department;
+import com.shakhawat.springbootactuator.department.DepartmentRepository;
+import com.shakhawat.springbootactuator.employee.Employee;
+import com.shakhawat.springbootactuator.employee.EmployeeRepository;
+import com.shakhawat.springbootactuator.web.IdempotencyStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static com.shakhawat.springbootactuator.TestCredentials.ADMIN;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class WritePathTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        department = departmentRepository.save(new Department(null, "IT", "Information Technology"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testCreateRetriedWithIdempotencyKey_InsertsOnce() throws Exception {
+        double before = statements("POST", "/api/employees");
+        String created = mockMvc.perform(authorized(post("/api/employees"), employeeJson("EMP001", department.getId()))
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "create-emp001"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(authorized(post("/api/employees"), employeeJson("EMP001", department.getId()))
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "create-emp001"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(content().json(created, true));
+
+        assertEquals(1, employeeRepository.count());
+        // The department is attached as a reference proxy, so the create is a single INSERT
+        assertEquals(1.0, statements("POST", "/api/employees") - before);
+    }
+
+    @Test
+    void testIdempotencyKeyReusedForDifferentEmployee_IsUnprocessable() throws Exception {
+        mockMvc.perform(authorized(post("/api/employees"), employeeJson("EMP001", department.getId()))
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "create-emp"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(authorized(post("/api/employees"), employeeJson("EMP002", department.getId()))
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "create-emp"))
+                .andExpect(status().isUnprocessableEntity());
+        assertEquals(1, employeeRepository.count());
+    }
+
+    @Test
+    void testDuplicateCode_IsConflictFromUniqueConstraint() throws Exception {
+        employeeRepository.save(new Employee(null, "EMP001", "John", "Doe", null, 30, "Male", "123 Street", department));
+
+        mockMvc.perform(authorized(post("/api/employees"), employeeJson("EMP001", department.getId())))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Duplicate value 'EMP001' for field: code"));
+    }
+
+    @Test
+    void testUpdateAndDelete_RunOneWriteStatementEach() throws Exception {
+        Employee employee = employeeRepository.save(new Employee(null, "EMP001", "John", "Doe", null, 30, "Male", "123 Street", department));
+        // Warm the second-level cache so the entity load before each write is not a SELECT
+        mockMvc.perform(authorized(get("/api/employees/{id}", employee.getId()), null)).andExpect(status().isOk());
+        employeeRepository.findById(employee.getId());
+
+        double beforeUpdate = statements("PUT", "/api/employees/{id}");
+        mockMvc.perform(authorized(put("/api/employees/{id}", employee.getId()), employeeJson("EMP001", 31, department.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"1-")));
+        // The version-checked UPDATE plus the lookup that produces the new ETag
+        assertEquals(2.0, statements("PUT", "/api/employees/{id}") - beforeUpdate);
+
+        double beforeDelete = statements("DELETE", "/api/employees/{id}");
+        mockMvc.perform(authorized(delete("/api/employees/{id}", employee.getId()), null))
+                .andExpect(status().isNoContent());
+        assertEquals(1.0, statements("DELETE", "/api/employees/{id}") - beforeDelete);
+        assertFalse(employeeRepository.existsById(employee.getId()));
+    }
+
+    @Test
+    void testDeleteDepartmentWithEmployees_IsConflict() throws Exception {
+        employeeRepository.save(new Employee(null, "EMP001", "John", "Doe", null, 30, "Male", "123 Street", department));
+
+        mockMvc.perform(authorized(delete("/api/departments/{id}", department.getId()), null))
+                .andExpect(status().isConflict());
+        assertTrue(departmentRepository.existsById(department.getId()));
+    }
+
+    private double statements(String method, String uri) {
+        DistributionSummary summary = meterRegistry.find("http.server.requests.jdbc.statements")
+                .tags("method", method, "uri", uri)
+                .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    private static String employeeJson(String code, Long departmentId) {
+        return employeeJson(code, 30, departmentId);
+    }
+
+    private static String employeeJson(String code, int age, Long departmentId) {
+        return """
+                {"code": "%s", "firstName": "John", "lastName": "Doe", "age": %d, "gender": "Male", "address": "123 Street", "departmentId": %d}
+                """.formatted(code, age, departmentId);
+    }
+
+    private static MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request, String json) {
+        request.header("Authorization", ADMIN);
+        if (json != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(json);
+        }
+        return request;
+    }
+}